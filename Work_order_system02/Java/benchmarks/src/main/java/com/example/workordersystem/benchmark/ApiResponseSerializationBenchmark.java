@@ -0,0 +1,52 @@
+package com.example.workordersystem.benchmark;
+
+import com.example.workordersystem.common.ApiResponse;
+import com.example.workordersystem.dto.SliceResponse;
+import com.example.workordersystem.dto.TaskResponse;
+import com.example.workordersystem.dto.TaskSummaryResponse;
+import com.example.workordersystem.service.TaskMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiResponse 序列化基准测试（使用与应用相同配置的ObjectMapper）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<TaskResponse> detail;
+    private ApiResponse<SliceResponse<TaskSummaryResponse>> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        TaskMapper taskMapper = new TaskMapper(objectMapper);
+        detail = ApiResponse.success(taskMapper.toResponse(BenchmarkFixtures.task(3)));
+
+        List<TaskSummaryResponse> list = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            list.add(taskMapper.toSummaryResponse(BenchmarkFixtures.summary(BenchmarkFixtures.task(3))));
+        }
+        page = ApiResponse.success(new SliceResponse<>(list, 0, 20, true));
+    }
+
+    @Benchmark
+    public byte[] taskDetail() throws Exception {
+        return objectMapper.writeValueAsBytes(detail);
+    }
+
+    @Benchmark
+    public byte[] taskPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.workordersystem.benchmark;
+
+import com.example.workordersystem.entity.Task;
+import com.example.workordersystem.repository.TaskSummary;
+import com.example.workordersystem.repository.UserTokenRepository;
+import com.example.workordersystem.security.TokenDenylist;
+import com.example.workordersystem.util.IdGenerator;
+import com.example.workordersystem.util.JwtUtil;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * 基准测试公共数据
+ * 按 application.yml 的配置构建被测对象，不启动Spring容器
+ */
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "benchmark-secret-key-must-be-at-least-256-bits-long";
+    static final long JWT_EXPIRATION = 86400000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 构建JwtUtil（与 jwt.* 配置一致）
+     */
+    static JwtUtil jwtUtil(int cacheMaxSize) {
+        JwtUtil jwtUtil = new JwtUtil(tokenDenylist());
+        setField(jwtUtil, "secret", JWT_SECRET);
+        setField(jwtUtil, "expiration", JWT_EXPIRATION);
+        setField(jwtUtil, "cacheMaxSize", cacheMaxSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    /**
+     * 构建空的Token拒绝列表（没有注销记录，与大多数请求的情况一致）
+     */
+    static TokenDenylist tokenDenylist() {
+        TokenDenylist tokenDenylist = new TokenDenylist(emptyUserTokenRepository());
+        setField(tokenDenylist, "expiration", JWT_EXPIRATION);
+        setField(tokenDenylist, "expectedSize", 100000);
+        tokenDenylist.load();
+        return tokenDenylist;
+    }
+
+    /**
+     * 不访问数据库的 UserTokenRepository：查询返回空列表，其余方法不支持
+     */
+    private static UserTokenRepository emptyUserTokenRepository() {
+        return (UserTokenRepository) Proxy.newProxyInstance(UserTokenRepository.class.getClassLoader(),
+                new Class<?>[]{UserTokenRepository.class}, (proxy, method, args) -> {
+                    if (method.getReturnType() == List.class) {
+                        return Collections.emptyList();
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            case "equals" -> proxy == args[0];
+                            default -> "EmptyUserTokenRepository";
+                        };
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * 构建与 spring.jackson.* 配置一致的ObjectMapper
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .simpleDateFormat("yyyy-MM-dd HH:mm:ss")
+                .timeZone(TimeZone.getTimeZone("GMT+8"))
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+    }
+
+    /**
+     * 构建一条工单，tags 为JSON格式
+     */
+    static Task task(int tagCount) {
+        LocalDateTime now = LocalDateTime.now();
+        Task task = new Task();
+        task.setId(IdGenerator.generateTaskId());
+        task.setTaskName("季度报表整理");
+        task.setDescription("整理本季度各部门提交的报表，核对数据后汇总提交。".repeat(8));
+        task.setProgressValue(40);
+        task.setStatus("in_progress");
+        task.setPriority("high");
+        task.setCreateDate(now.minusDays(3));
+        task.setUpdateDate(now);
+        task.setDueDate(now.plusDays(7));
+        task.setAssignee(IdGenerator.generateUserId());
+        task.setCategory("文档");
+        task.setTags(tagsJson(tagCount));
+        task.setVersion(0L);
+        task.setUserId(IdGenerator.generateUserId());
+        task.setCreateTime(now.minusDays(3));
+        task.setUpdateTime(now);
+        return task;
+    }
+
+    /**
+     * 工单对应的列表投影
+     */
+    static TaskSummary summary(Task task) {
+        return new TaskSummary(task.getId(), task.getTaskName(), task.getProgressValue(), task.getStatus(),
+                task.getPriority(), task.getCreateDate(), task.getUpdateDate(), task.getDueDate(),
+                task.getAssignee(), task.getCategory(), task.getTags(), task.getVersion());
+    }
+
+    private static String tagsJson(int tagCount) {
+        if (tagCount == 0) {
+            return null;
+        }
+        List<String> tags = new ArrayList<>(tagCount);
+        for (int i = 0; i < tagCount; i++) {
+            tags.add("\"标签" + i + "\"");
+        }
+        return "[" + String.join(",", tags) + "]";
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalStateException("字段不存在: " + name);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
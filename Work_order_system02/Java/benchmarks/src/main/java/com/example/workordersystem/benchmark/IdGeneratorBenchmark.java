@@ -0,0 +1,35 @@
+package com.example.workordersystem.benchmark;
+
+import com.example.workordersystem.util.IdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IdGenerator 基准测试（单线程与多线程竞争）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+    @Benchmark
+    public String nextId() {
+        return IdGenerator.nextId();
+    }
+
+    @Benchmark
+    public UUID nextUuid() {
+        return IdGenerator.nextUuid();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String nextIdContended() {
+        return IdGenerator.nextId();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.workordersystem.benchmark;
+
+import com.example.workordersystem.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil 基准测试
+ * validateToken/getUserIdFromToken 在缓存命中时的开销，以及未命中时完整验签解析的开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkFixtures.jwtUtil(10000);
+        token = jwtUtil.generateToken("01a14bb1-f5ac-7000-942d-18a37ba69a7f", "alice");
+        jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("01a14bb1-f5ac-7000-942d-18a37ba69a7f", "alice");
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUserIdFromToken() {
+        return jwtUtil.getUserIdFromToken(token);
+    }
+
+    /**
+     * 缓存未命中时的完整验签和解析
+     */
+    @Benchmark
+    public Object parseTokenUncached() {
+        return jwtUtil.getClaimsFromToken(token);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.workordersystem.benchmark;
+
+import com.example.workordersystem.dto.TaskResponse;
+import com.example.workordersystem.dto.TaskSummaryResponse;
+import com.example.workordersystem.entity.Task;
+import com.example.workordersystem.repository.TaskSummary;
+import com.example.workordersystem.service.TaskMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 工单响应转换基准测试（含标签JSON解析）
+ * legacyTagParsing 为改用预构建 ObjectReader 之前的写法，作为对照
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskMapperBenchmark {
+
+    @Param({"0", "3", "10"})
+    private int tagCount;
+
+    private ObjectMapper objectMapper;
+    private TaskMapper taskMapper;
+    private Task task;
+    private TaskSummary summary;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        taskMapper = new TaskMapper(objectMapper);
+        task = BenchmarkFixtures.task(tagCount);
+        summary = BenchmarkFixtures.summary(task);
+    }
+
+    @Benchmark
+    public TaskResponse toResponse() {
+        return taskMapper.toResponse(task);
+    }
+
+    @Benchmark
+    public TaskSummaryResponse toSummaryResponse() {
+        return taskMapper.toSummaryResponse(summary);
+    }
+
+    @Benchmark
+    public List<String> legacyTagParsing() throws Exception {
+        if (task.getTags() == null) {
+            return null;
+        }
+        return objectMapper.readValue(task.getTags(), new TypeReference<List<String>>() {});
+    }
+}
@@ -15,6 +15,10 @@ USE `work_order_system`;
 -- ============================================
 -- 删除表（按依赖关系顺序：先删除有外键的表）
 -- ============================================
+DROP TABLE IF EXISTS `task_outbox`;
+DROP TABLE IF EXISTS `task_tombstones`;
+DROP TABLE IF EXISTS `task_tags`;
+DROP TABLE IF EXISTS `task_stats`;
 DROP TABLE IF EXISTS `user_tokens`;
 DROP TABLE IF EXISTS `tasks`;
 DROP TABLE IF EXISTS `users`;
@@ -51,17 +55,22 @@ CREATE TABLE `tasks` (
   `create_date` DATETIME NOT NULL COMMENT '创建日期',
   `update_date` DATETIME NOT NULL COMMENT '更新日期',
   `due_date` DATETIME NULL COMMENT '截止日期',
+  `overdue_time` DATETIME(6) NULL COMMENT '检测到逾期的时间（未逾期时为空）',
   `assignee` VARCHAR(64) NULL COMMENT '负责人（用户ID）',
   `category` VARCHAR(50) NULL COMMENT '分类',
   `tags` VARCHAR(500) NULL COMMENT '标签（JSON格式存储）',
   `user_id` VARCHAR(64) NOT NULL COMMENT '所属用户ID',
   `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  `version` BIGINT NOT NULL DEFAULT 0 COMMENT '版本号（乐观锁）',
   PRIMARY KEY (`id`),
-  KEY `idx_user_id` (`user_id`),
-  KEY `idx_status` (`status`),
-  KEY `idx_priority` (`priority`),
-  KEY `idx_create_date` (`create_date`),
+  KEY `idx_user_create_date` (`user_id`, `create_date`, `id`),
+  KEY `idx_user_status` (`user_id`, `status`, `create_date`),
+  KEY `idx_user_priority` (`user_id`, `priority`, `create_date`),
+  KEY `idx_user_category` (`user_id`, `category`),
+  KEY `idx_user_due_date` (`user_id`, `due_date`),
+  KEY `idx_user_update_time` (`user_id`, `update_time`, `id`),
+  KEY `idx_status_overdue_due_date` (`status`, `overdue_time`, `due_date`),
   CONSTRAINT `fk_task_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='工单表';
 
@@ -71,12 +80,70 @@ CREATE TABLE `tasks` (
 CREATE TABLE `user_tokens` (
   `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '自增ID',
   `user_id` VARCHAR(64) NOT NULL COMMENT '用户ID',
-  `token` VARCHAR(500) NOT NULL COMMENT 'Token值',
+  `token_type` VARCHAR(20) NOT NULL COMMENT '类型：refresh（刷新Token摘要）/revoked（已注销的访问Token ID）',
+  `token` VARCHAR(500) NOT NULL COMMENT 'Token值（刷新Token的SHA-256摘要或访问Token的jti）',
   `expire_time` DATETIME NOT NULL COMMENT '过期时间',
   `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   PRIMARY KEY (`id`),
   KEY `idx_user_id` (`user_id`),
   KEY `idx_token` (`token`),
   KEY `idx_expire_time` (`expire_time`),
+  KEY `idx_type_create_time` (`token_type`, `create_time`),
   CONSTRAINT `fk_token_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户Token表';
+
+-- ============================================
+-- 4. 工单统计表 (task_stats)
+-- 由工单写操作在同一事务中增量维护，统计接口直接读取
+-- ============================================
+CREATE TABLE `task_stats` (
+  `user_id` VARCHAR(64) NOT NULL COMMENT '用户ID',
+  `dimension` VARCHAR(20) NOT NULL COMMENT '统计维度（total/status/priority/category）',
+  `dim_value` VARCHAR(50) NOT NULL DEFAULT '' COMMENT '维度取值',
+  `task_count` BIGINT NOT NULL DEFAULT 0 COMMENT '工单数量',
+  `progress_sum` BIGINT NOT NULL DEFAULT 0 COMMENT '进度总和（仅total维度）',
+  PRIMARY KEY (`user_id`, `dimension`, `dim_value`),
+  CONSTRAINT `fk_task_stats_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='工单统计表';
+
+-- ============================================
+-- 5. 工单标签表 (task_tags)
+-- 每个标签一行，按 (user_id, tag) 索引筛选；tasks.tags 保留JSON用于展示
+-- ============================================
+CREATE TABLE `task_tags` (
+  `task_id` VARCHAR(64) NOT NULL COMMENT '工单ID',
+  `tag` VARCHAR(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL COMMENT '标签（区分大小写，与应用去重规则一致）',
+  `user_id` VARCHAR(64) NOT NULL COMMENT '所属用户ID',
+  PRIMARY KEY (`task_id`, `tag`),
+  KEY `idx_user_tag` (`user_id`, `tag`, `task_id`),
+  CONSTRAINT `fk_task_tags_task` FOREIGN KEY (`task_id`) REFERENCES `tasks` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='工单标签表';
+
+-- ============================================
+-- 6. 工单删除记录表 (task_tombstones)
+-- 删除工单时在同一事务中写入，供增量同步接口通知客户端，超过保留期后定时清理
+-- ============================================
+CREATE TABLE `task_tombstones` (
+  `task_id` VARCHAR(64) NOT NULL COMMENT '已删除的工单ID',
+  `user_id` VARCHAR(64) NOT NULL COMMENT '所属用户ID',
+  `deleted_time` DATETIME NOT NULL COMMENT '删除时间',
+  PRIMARY KEY (`task_id`),
+  KEY `idx_user_deleted_time` (`user_id`, `deleted_time`, `task_id`),
+  KEY `idx_deleted_time` (`deleted_time`),
+  CONSTRAINT `fk_task_tombstones_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='工单删除记录表';
+
+-- ============================================
+-- 7. 工单事件发件箱 (task_outbox)
+-- 工单写操作在同一事务中写入，后台按ID顺序发布后删除
+-- ============================================
+CREATE TABLE `task_outbox` (
+  `id` VARCHAR(64) NOT NULL COMMENT '事件ID（按时间递增）',
+  `event_type` VARCHAR(20) NOT NULL COMMENT '事件类型：TASK_CREATED/TASK_UPDATED/TASK_DELETED/TASK_OVERDUE',
+  `task_id` VARCHAR(64) NOT NULL COMMENT '工单ID',
+  `user_id` VARCHAR(64) NOT NULL COMMENT '所属用户ID',
+  `task_version` BIGINT DEFAULT NULL COMMENT '事件对应的工单版本号',
+  `payload` TEXT DEFAULT NULL COMMENT '工单内容（JSON），删除事件为空',
+  `created_time` DATETIME(6) NOT NULL COMMENT '写入时间',
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='工单事件发件箱';
@@ -0,0 +1,13 @@
+-- ============================================
+-- 工单列表游标分页索引
+-- 使用复合索引 (user_id, create_date, id) 替代单列索引 idx_user_id / idx_create_date
+-- 适用于已按旧版 init.sql 建表的数据库
+-- ============================================
+
+USE `work_order_system`;
+
+-- 先创建复合索引（外键 fk_task_user 可继续使用以 user_id 开头的索引）
+ALTER TABLE `tasks` ADD KEY `idx_user_create_date` (`user_id`, `create_date`, `id`);
+
+ALTER TABLE `tasks` DROP KEY `idx_user_id`;
+ALTER TABLE `tasks` DROP KEY `idx_create_date`;
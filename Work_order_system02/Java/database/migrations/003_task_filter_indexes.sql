@@ -0,0 +1,17 @@
+-- ============================================
+-- 工单组合筛选索引
+-- 以 user_id 开头的复合索引替代单列索引 idx_status / idx_priority，
+-- 组合条件查询只需一次索引范围扫描
+-- ============================================
+
+USE `work_order_system`;
+
+ALTER TABLE `tasks`
+  ADD KEY `idx_user_status` (`user_id`, `status`, `create_date`),
+  ADD KEY `idx_user_priority` (`user_id`, `priority`, `create_date`),
+  ADD KEY `idx_user_category` (`user_id`, `category`),
+  ADD KEY `idx_user_due_date` (`user_id`, `due_date`);
+
+ALTER TABLE `tasks`
+  DROP KEY `idx_status`,
+  DROP KEY `idx_priority`;
@@ -0,0 +1,30 @@
+-- ============================================
+-- 工单统计表，并从现有工单回填统计数据
+-- ============================================
+
+USE `work_order_system`;
+
+CREATE TABLE IF NOT EXISTS `task_stats` (
+  `user_id` VARCHAR(64) NOT NULL COMMENT '用户ID',
+  `dimension` VARCHAR(20) NOT NULL COMMENT '统计维度（total/status/priority/category）',
+  `dim_value` VARCHAR(50) NOT NULL DEFAULT '' COMMENT '维度取值',
+  `task_count` BIGINT NOT NULL DEFAULT 0 COMMENT '工单数量',
+  `progress_sum` BIGINT NOT NULL DEFAULT 0 COMMENT '进度总和（仅total维度）',
+  PRIMARY KEY (`user_id`, `dimension`, `dim_value`),
+  CONSTRAINT `fk_task_stats_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='工单统计表';
+
+-- 回填（请在停止写入或低峰期执行）
+DELETE FROM `task_stats`;
+
+INSERT INTO `task_stats` (`user_id`, `dimension`, `dim_value`, `task_count`, `progress_sum`)
+SELECT `user_id`, 'total', '', COUNT(*), COALESCE(SUM(`progress_value`), 0) FROM `tasks` GROUP BY `user_id`;
+
+INSERT INTO `task_stats` (`user_id`, `dimension`, `dim_value`, `task_count`, `progress_sum`)
+SELECT `user_id`, 'status', `status`, COUNT(*), 0 FROM `tasks` GROUP BY `user_id`, `status`;
+
+INSERT INTO `task_stats` (`user_id`, `dimension`, `dim_value`, `task_count`, `progress_sum`)
+SELECT `user_id`, 'priority', `priority`, COUNT(*), 0 FROM `tasks` GROUP BY `user_id`, `priority`;
+
+INSERT INTO `task_stats` (`user_id`, `dimension`, `dim_value`, `task_count`, `progress_sum`)
+SELECT `user_id`, 'category', COALESCE(`category`, ''), COUNT(*), 0 FROM `tasks` GROUP BY `user_id`, COALESCE(`category`, '');
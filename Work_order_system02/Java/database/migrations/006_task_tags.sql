@@ -0,0 +1,24 @@
+-- ============================================
+-- 工单标签表，并从 tasks.tags 的JSON回填（需要 MySQL 8.0+ 的 JSON_TABLE）
+-- ============================================
+
+USE `work_order_system`;
+
+CREATE TABLE IF NOT EXISTS `task_tags` (
+  `task_id` VARCHAR(64) NOT NULL COMMENT '工单ID',
+  `tag` VARCHAR(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL COMMENT '标签（区分大小写，与应用去重规则一致）',
+  `user_id` VARCHAR(64) NOT NULL COMMENT '所属用户ID',
+  PRIMARY KEY (`task_id`, `tag`),
+  KEY `idx_user_tag` (`user_id`, `tag`, `task_id`),
+  CONSTRAINT `fk_task_tags_task` FOREIGN KEY (`task_id`) REFERENCES `tasks` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='工单标签表';
+
+-- 回填（请在停止写入或低峰期执行）；跳过空标签、超长标签和无法解析的JSON
+INSERT IGNORE INTO `task_tags` (`task_id`, `tag`, `user_id`)
+SELECT t.`id`, TRIM(jt.`tag`), t.`user_id`
+FROM `tasks` t
+JOIN JSON_TABLE(t.`tags`, '$[*]' COLUMNS (`tag` VARCHAR(200) PATH '$')) jt
+WHERE t.`tags` IS NOT NULL
+  AND JSON_VALID(t.`tags`)
+  AND TRIM(jt.`tag`) <> ''
+  AND CHAR_LENGTH(TRIM(jt.`tag`)) <= 50;
@@ -0,0 +1,17 @@
+-- ============================================
+-- 增量同步：按 (user_id, update_time, id) 查询变更的工单，删除记录写入 task_tombstones
+-- ============================================
+
+USE `work_order_system`;
+
+ALTER TABLE `tasks` ADD KEY `idx_user_update_time` (`user_id`, `update_time`, `id`);
+
+CREATE TABLE IF NOT EXISTS `task_tombstones` (
+  `task_id` VARCHAR(64) NOT NULL COMMENT '已删除的工单ID',
+  `user_id` VARCHAR(64) NOT NULL COMMENT '所属用户ID',
+  `deleted_time` DATETIME NOT NULL COMMENT '删除时间',
+  PRIMARY KEY (`task_id`),
+  KEY `idx_user_deleted_time` (`user_id`, `deleted_time`, `task_id`),
+  KEY `idx_deleted_time` (`deleted_time`),
+  CONSTRAINT `fk_task_tombstones_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='工单删除记录表';
@@ -0,0 +1,7 @@
+-- ============================================
+-- 工单乐观锁版本号：修改时带版本条件，接口以版本号作为ETag
+-- ============================================
+
+USE `work_order_system`;
+
+ALTER TABLE `tasks` ADD COLUMN `version` BIGINT NOT NULL DEFAULT 0 COMMENT '版本号（乐观锁）' AFTER `update_time`;
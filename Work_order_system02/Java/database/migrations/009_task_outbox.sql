@@ -0,0 +1,16 @@
+-- ============================================
+-- 工单事件发件箱：工单写操作在同一事务中写入事件，后台按ID顺序发布后删除
+-- ============================================
+
+USE `work_order_system`;
+
+CREATE TABLE IF NOT EXISTS `task_outbox` (
+  `id` VARCHAR(64) NOT NULL COMMENT '事件ID（按时间递增）',
+  `event_type` VARCHAR(20) NOT NULL COMMENT '事件类型：TASK_CREATED/TASK_UPDATED/TASK_DELETED',
+  `task_id` VARCHAR(64) NOT NULL COMMENT '工单ID',
+  `user_id` VARCHAR(64) NOT NULL COMMENT '所属用户ID',
+  `task_version` BIGINT DEFAULT NULL COMMENT '事件对应的工单版本号',
+  `payload` TEXT DEFAULT NULL COMMENT '工单内容（JSON），删除事件为空',
+  `created_time` DATETIME(6) NOT NULL COMMENT '写入时间',
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='工单事件发件箱';
@@ -0,0 +1,11 @@
+-- ============================================
+-- 工单逾期检测：逾期标记列，及启动补扫、加载检测窗口使用的 (status, overdue_time, due_date) 索引
+-- ============================================
+
+USE `work_order_system`;
+
+ALTER TABLE `tasks`
+  ADD COLUMN `overdue_time` DATETIME(6) NULL COMMENT '检测到逾期的时间（未逾期时为空）' AFTER `due_date`,
+  ADD KEY `idx_status_overdue_due_date` (`status`, `overdue_time`, `due_date`);
+
+-- 已逾期的未完成工单在应用启动后由补扫标记并产生逾期事件
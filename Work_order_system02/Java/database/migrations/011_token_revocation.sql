@@ -0,0 +1,13 @@
+-- ============================================
+-- 刷新Token与注销：user_tokens 区分刷新Token和已注销的访问Token，启动时按 (token_type, create_time) 加载注销记录
+-- ============================================
+
+USE `work_order_system`;
+
+-- 此前未使用的旧记录无法识别，直接清除
+DELETE FROM `user_tokens`;
+
+ALTER TABLE `user_tokens`
+  ADD COLUMN `token_type` VARCHAR(20) NOT NULL COMMENT '类型：refresh（刷新Token摘要）/revoked（已注销的访问Token ID）' AFTER `user_id`,
+  MODIFY COLUMN `token` VARCHAR(500) NOT NULL COMMENT 'Token值（刷新Token的SHA-256摘要或访问Token的jti）',
+  ADD KEY `idx_type_create_time` (`token_type`, `create_time`);
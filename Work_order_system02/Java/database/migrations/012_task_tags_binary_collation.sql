@@ -0,0 +1,19 @@
+-- ============================================
+-- task_tags.tag 改为区分大小写的 utf8mb4_bin：应用按原文去重（"Bug" 和 "bug" 是两个标签），
+-- 原 utf8mb4_unicode_ci 下二者主键冲突，写入失败、回填时被跳过。已按新版 006 建表的数据库无需执行
+-- ============================================
+
+USE `work_order_system`;
+
+ALTER TABLE `task_tags`
+  MODIFY COLUMN `tag` VARCHAR(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL COMMENT '标签（区分大小写，与应用去重规则一致）';
+
+-- 补回此前因冲突被跳过的标签
+INSERT IGNORE INTO `task_tags` (`task_id`, `tag`, `user_id`)
+SELECT t.`id`, TRIM(jt.`tag`), t.`user_id`
+FROM `tasks` t
+JOIN JSON_TABLE(t.`tags`, '$[*]' COLUMNS (`tag` VARCHAR(200) PATH '$')) jt
+WHERE t.`tags` IS NOT NULL
+  AND JSON_VALID(t.`tags`)
+  AND TRIM(jt.`tag`) <> ''
+  AND CHAR_LENGTH(TRIM(jt.`tag`)) <= 50;
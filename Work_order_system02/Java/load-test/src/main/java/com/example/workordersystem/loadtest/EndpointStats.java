@@ -0,0 +1,69 @@
+package com.example.workordersystem.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个接口的延迟与错误统计
+ * 延迟以微秒记录在HdrHistogram中（3位有效数字，上限1分钟），p999等高分位不受采样丢失影响
+ */
+public class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Operation operation;
+    private final ConcurrentHistogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorBreakdown = new ConcurrentHashMap<>();
+
+    public EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * 记录一次请求；失败请求的延迟同样计入直方图
+     *
+     * @param error 失败原因（如 "HTTP 503"、"code 400"），成功时为null
+     */
+    public void record(long elapsedNanos, String error) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        histogram.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+        if (error != null) {
+            errors.increment();
+            errorBreakdown.computeIfAbsent(error, k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * 丢弃已有样本（预热结束时调用）
+     */
+    public void reset() {
+        histogram.reset();
+        errors.reset();
+        errorBreakdown.clear();
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Histogram snapshot() {
+        return histogram.copy();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public Map<String, Long> getErrorBreakdown() {
+        Map<String, Long> result = new TreeMap<>();
+        errorBreakdown.forEach((reason, count) -> result.put(reason, count.sum()));
+        return result;
+    }
+}
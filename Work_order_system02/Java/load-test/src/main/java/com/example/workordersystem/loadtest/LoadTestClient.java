@@ -0,0 +1,154 @@
+package com.example.workordersystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 被测接口的HTTP客户端
+ * 请求成功的判定与前端一致：HTTP 200 且响应体 code 为 200；每次调用的耗时计入对应接口的统计
+ */
+public class LoadTestClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern CODE = Pattern.compile("^\\{\"code\":(\\d+)");
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    public LoadTestClient(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+    }
+
+    /**
+     * 调用结果；响应体不自动解析，需要时调用 {@link #readData(String)}，避免客户端解析开销影响测量
+     */
+    public record Result(boolean success, String body) {
+    }
+
+    /**
+     * 发送请求并计入统计
+     */
+    public Result call(Operation operation, HttpRequest request) {
+        long start = System.nanoTime();
+        String error;
+        String body = null;
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            body = response.body();
+            error = checkResponse(response.statusCode(), body);
+        } catch (IOException e) {
+            error = e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "interrupted";
+        }
+        stats.get(operation).record(System.nanoTime() - start, error);
+        return new Result(error == null, body);
+    }
+
+    /**
+     * 发送不计入统计的请求（数据预置），失败时抛出异常
+     */
+    public JsonNode callUnmeasured(HttpRequest request) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            String error = checkResponse(response.statusCode(), response.body());
+            if (error != null) {
+                throw new IllegalStateException(request.method() + " " + request.uri() + " 失败: " + error
+                        + " " + response.body());
+            }
+            return readData(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " 失败", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("请求被中断", e);
+        }
+    }
+
+    public HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    public HttpRequest post(String path, String token, Object body) {
+        return builder(path, token).POST(HttpRequest.BodyPublishers.ofString(toJson(body))).build();
+    }
+
+    public HttpRequest put(String path, String token, Object body) {
+        return builder(path, token).PUT(HttpRequest.BodyPublishers.ofString(toJson(body))).build();
+    }
+
+    public HttpRequest delete(String path, String token) {
+        return builder(path, token).DELETE().build();
+    }
+
+    public Map<Operation, EndpointStats> getStats() {
+        return stats;
+    }
+
+    public void resetStats() {
+        stats.values().forEach(EndpointStats::reset);
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static String checkResponse(int status, String body) {
+        if (status != 200) {
+            return "HTTP " + status;
+        }
+        Matcher matcher = CODE.matcher(body);
+        if (!matcher.find()) {
+            return "invalid body";
+        }
+        String code = matcher.group(1);
+        return "200".equals(code) ? null : "code " + code;
+    }
+
+    /**
+     * 读取响应体中的 data 节点
+     */
+    public JsonNode readData(String body) {
+        try {
+            return objectMapper.readTree(body).path("data");
+        } catch (IOException e) {
+            throw new IllegalStateException("响应解析失败: " + body, e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("请求体序列化失败", e);
+        }
+    }
+}
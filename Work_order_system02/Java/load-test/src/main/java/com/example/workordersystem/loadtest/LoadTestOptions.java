@@ -0,0 +1,157 @@
+package com.example.workordersystem.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 负载测试参数
+ * 命令行格式为 --名称=值；未识别的参数（如 --spring.jpa.show-sql=true）原样传给被测应用
+ */
+public class LoadTestOptions {
+
+    /** 默认请求配比（权重） */
+    static final String DEFAULT_MIX = "login:2,list:25,filter:25,detail:20,create:10,update:12,delete:6";
+
+    private int users = 20;            // 用户数
+    private int tasksPerUser = 200;    // 每个用户预置的工单数
+    private int concurrency = 32;      // 并发客户端数（闭环，每个客户端收到响应后立即发下一个请求）
+    private int warmupSeconds = 10;    // 预热时长，期间的样本不计入结果
+    private int durationSeconds = 60;  // 测量时长
+    private int thinkTimeMillis = 0;   // 每个请求之间的等待
+    private String baseUrl;            // 指定后压测已运行的实例，不再启动内嵌应用
+    private String mix = DEFAULT_MIX;
+    private Boolean virtualThreads;    // 对应 spring.threads.virtual.enabled，未指定时沿用应用配置
+    private String output;             // JSON结果文件，默认 results/load-时间戳.json
+    private boolean help;
+    private final List<String> appArgs = new ArrayList<>();
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("无法识别的参数: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            String value = eq < 0 ? "true" : arg.substring(eq + 1);
+            switch (name) {
+                case "users" -> options.users = positive(name, value);
+                case "tasks" -> options.tasksPerUser = positive(name, value);
+                case "concurrency" -> options.concurrency = positive(name, value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "duration" -> options.durationSeconds = positive(name, value);
+                case "think-time" -> options.thinkTimeMillis = Integer.parseInt(value);
+                case "base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "mix" -> options.mix = value;
+                case "virtual-threads" -> options.virtualThreads = Boolean.parseBoolean(value);
+                case "output" -> options.output = value;
+                case "help" -> options.help = true;
+                default -> options.appArgs.add(arg);
+            }
+        }
+        if (options.users > 9999) {
+            throw new IllegalArgumentException("users 不能超过9999"); // 手机号按用户序号生成
+        }
+        options.parseMix(); // 提前校验
+        return options;
+    }
+
+    /**
+     * 解析请求配比，如 login:2,list:25
+     */
+    public Map<Operation, Integer> parseMix() {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("请求配比格式错误: " + part);
+            }
+            Operation operation = Operation.of(kv[0].trim());
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("请求配比不能为空");
+        }
+        return weights;
+    }
+
+    private static int positive(String name, String value) {
+        int n = Integer.parseInt(value);
+        if (n <= 0) {
+            throw new IllegalArgumentException(name + " 必须大于0");
+        }
+        return n;
+    }
+
+    public static void printUsage() {
+        System.out.println("""
+                用法: java -jar target/load-test.jar [参数]
+                  --users=20            用户数
+                  --tasks=200           每个用户预置的工单数
+                  --concurrency=32      并发客户端数
+                  --warmup=10           预热秒数
+                  --duration=60         测量秒数
+                  --think-time=0        请求间隔（毫秒）
+                  --mix=%s
+                                        请求配比，可选 %s
+                  --virtual-threads=true|false   覆盖被测应用的 spring.threads.virtual.enabled
+                  --base-url=http://host:8080/api  压测已运行的实例（不启动内嵌应用和H2）
+                  --output=文件          JSON结果文件，默认 results/load-时间戳.json
+                其余 --xxx=yyy 参数传给被测应用，如 --spring.datasource.hikari.maximum-pool-size=10
+                """.formatted(DEFAULT_MIX, Arrays.toString(Operation.values())));
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getTasksPerUser() {
+        return tasksPerUser;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getThinkTimeMillis() {
+        return thinkTimeMillis;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getMix() {
+        return mix;
+    }
+
+    public Boolean getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public boolean isHelp() {
+        return help;
+    }
+
+    public List<String> getAppArgs() {
+        return appArgs;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.workordersystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 负载测试结果：控制台表格 + JSON文件（便于不同版本之间对比）
+ */
+public class LoadTestReport {
+
+    private final Map<String, Object> config;
+    private final double elapsedSeconds;
+    private final List<Map<String, Object>> endpoints = new ArrayList<>();
+    private final Map<String, Object> total;
+
+    public LoadTestReport(Map<String, Object> config, Iterable<EndpointStats> stats, double elapsedSeconds) {
+        this.config = config;
+        this.elapsedSeconds = elapsedSeconds;
+        Histogram all = null;
+        long allErrors = 0;
+        for (EndpointStats endpoint : stats) {
+            Histogram histogram = endpoint.snapshot();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Map<String, Object> row = row(endpoint.getOperation().getKey(), endpoint.getOperation().getEndpoint(),
+                    histogram, endpoint.getErrors());
+            if (endpoint.getErrors() > 0) {
+                row.put("errorBreakdown", endpoint.getErrorBreakdown());
+            }
+            endpoints.add(row);
+            allErrors += endpoint.getErrors();
+            if (all == null) {
+                all = histogram;
+            } else {
+                all.add(histogram);
+            }
+        }
+        this.total = all == null ? Map.of() : row("total", "", all, allErrors);
+    }
+
+    private Map<String, Object> row(String operation, String endpoint, Histogram histogram, long errors) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("operation", operation);
+        row.put("endpoint", endpoint);
+        row.put("requests", histogram.getTotalCount());
+        row.put("errors", errors);
+        row.put("throughput", round(histogram.getTotalCount() / elapsedSeconds));
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", millis(histogram.getMean()));
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        row.put("latencyMs", latency);
+        return row;
+    }
+
+    public void print() {
+        System.out.printf("%n测量时长 %.1f 秒，延迟单位 ms%n", elapsedSeconds);
+        String format = "%-8s %-20s %9s %8s %9s %8s %8s %8s %8s%n";
+        System.out.printf(format, "请求", "接口", "请求数", "错误数", "吞吐/s", "p50", "p99", "p999", "max");
+        for (Map<String, Object> row : endpoints) {
+            printRow(format, row);
+        }
+        if (!total.isEmpty()) {
+            printRow(format, total);
+        }
+        for (Map<String, Object> row : endpoints) {
+            if (row.containsKey("errorBreakdown")) {
+                System.out.println(row.get("operation") + " 错误: " + row.get("errorBreakdown"));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printRow(String format, Map<String, Object> row) {
+        Map<String, Object> latency = (Map<String, Object>) row.get("latencyMs");
+        System.out.printf(format, row.get("operation"), row.get("endpoint"), row.get("requests"), row.get("errors"),
+                row.get("throughput"), latency.get("p50"), latency.get("p99"), latency.get("p999"), latency.get("max"));
+    }
+
+    public void write(ObjectMapper objectMapper, Path file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("config", config);
+        json.put("elapsedSeconds", round(elapsedSeconds));
+        json.put("endpoints", endpoints);
+        json.put("total", total);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+    }
+
+    private static double millis(double micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.workordersystem.loadtest;
+
+import com.example.workordersystem.WorkOrderSystemApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 负载测试入口
+ * 默认在同一进程内以随机端口启动应用，数据源替换为H2内存库（MySQL兼容模式），结束后关闭应用。
+ * 结果用于同一环境下不同版本之间的对比，绝对值不代表生产MySQL上的表现
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if (options.isHelp()) {
+            LoadTestOptions.printUsage();
+            return;
+        }
+
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.getBaseUrl();
+        if (baseUrl == null) {
+            application = startApplication(options);
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            String contextPath = application.getEnvironment().getProperty("server.servlet.context-path", "");
+            baseUrl = "http://localhost:" + port + contextPath;
+        }
+
+        try {
+            run(options, baseUrl, application);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static void run(LoadTestOptions options, String baseUrl, ConfigurableApplicationContext application)
+            throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        LoadTestClient client = new LoadTestClient(baseUrl, objectMapper);
+        LoadTestWorkload workload = new LoadTestWorkload(client, options);
+
+        System.out.printf("被测地址 %s，预置 %d 个用户 × %d 个工单...%n", baseUrl, options.getUsers(), options.getTasksPerUser());
+        long seedStart = System.nanoTime();
+        workload.seed();
+        System.out.printf("预置完成：%d 个工单，耗时 %.1f 秒%n", workload.getSeededTaskCount(),
+                (System.nanoTime() - seedStart) / 1e9);
+
+        System.out.printf("并发 %d，预热 %d 秒，测量 %d 秒，配比 %s%n", options.getConcurrency(),
+                options.getWarmupSeconds(), options.getDurationSeconds(), options.getMix());
+        ExecutorService workers = workload.start();
+        TimeUnit.SECONDS.sleep(options.getWarmupSeconds());
+        client.resetStats();
+        long measureStart = System.nanoTime();
+        TimeUnit.SECONDS.sleep(options.getDurationSeconds());
+        workload.stop(workers);
+        double elapsedSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        LoadTestReport report = new LoadTestReport(describe(options, baseUrl, application),
+                client.getStats().values(), elapsedSeconds);
+        report.print();
+        Path output = options.getOutput() != null ? Path.of(options.getOutput())
+                : Path.of("results", "load-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        report.write(objectMapper, output);
+        System.out.println("结果已写入 " + output.toAbsolutePath());
+    }
+
+    /**
+     * 以H2内存库启动被测应用；--virtual-threads 及其余透传参数覆盖同名默认值
+     */
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.example.workordersystem", "INFO");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        // 超出 @SqlBudget 或出现N+1查询的请求直接失败，在结果的错误数中体现
+        properties.put("sql-budget.mode", "strict");
+        // 未指定时由应用按JDK版本决定；JDK 21以下指定 --virtual-threads=true 时应用启动失败
+        if (options.getVirtualThreads() != null) {
+            properties.put("spring.threads.virtual.enabled", options.getVirtualThreads().toString());
+        }
+        for (String arg : options.getAppArgs()) {
+            int eq = arg.indexOf('=');
+            properties.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        System.out.println("启动被测应用（H2 MySQL模式）...");
+        return SpringApplication.run(WorkOrderSystemApplication.class, args);
+    }
+
+    private static Map<String, Object> describe(LoadTestOptions options, String baseUrl,
+                                                ConfigurableApplicationContext application) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("timestamp", LocalDateTime.now().toString());
+        config.put("baseUrl", baseUrl);
+        config.put("embedded", application != null);
+        config.put("users", options.getUsers());
+        config.put("tasksPerUser", options.getTasksPerUser());
+        config.put("concurrency", options.getConcurrency());
+        config.put("warmupSeconds", options.getWarmupSeconds());
+        config.put("durationSeconds", options.getDurationSeconds());
+        config.put("thinkTimeMillis", options.getThinkTimeMillis());
+        config.put("mix", options.getMix());
+        config.put("java", Runtime.version().toString());
+        config.put("cpus", Runtime.getRuntime().availableProcessors());
+        if (application != null) {
+            // 记录实际生效的配置（未指定时由应用按JDK版本决定）
+            config.put("virtualThreads", application.getEnvironment()
+                    .getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+            config.put("dbPoolMaxSize", application.getEnvironment().getProperty("spring.datasource.hikari.maximum-pool-size"));
+        }
+        return config;
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.workordersystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 负载生成
+ * 先通过接口注册 N 个用户并批量创建 M 个工单，再由并发客户端按配比随机发起请求直至测量结束。
+ * 删除只针对压测期间新建的工单，预置数据规模在整个测量过程中保持不变
+ */
+public class LoadTestWorkload {
+
+    private static final String PASSWORD = "LoadTest123";
+    private static final int SEED_BATCH_SIZE = 500; // 与批量接口的上限一致
+    private static final int PAGE_SIZE = 20;
+
+    private static final String[] STATUSES = {"pending", "in_progress", "completed", "cancelled"};
+    private static final String[] PRIORITIES = {"low", "medium", "high", "urgent"};
+    private static final String[] CATEGORIES = {"设备维修", "网络故障", "软件安装", "账号权限", "其他"};
+    private static final String[] ASSIGNEES = {"张三", "李四", "王五", "赵六", "钱七", "孙八"};
+    private static final String[] TAGS = {"紧急", "客户反馈", "硬件", "软件", "网络", "复查", "夜班", "VIP"};
+    private static final String[] SORTS = {"createDate", "updateDate", "dueDate", "priority"};
+    private static final String DESCRIPTION = "负载测试生成的工单描述，用于模拟真实工单正文的长度。".repeat(6);
+
+    private final LoadTestClient client;
+    private final LoadTestOptions options;
+    private final List<VirtualUser> users = new ArrayList<>();
+    private final Operation[] schedule;
+
+    private volatile boolean running;
+
+    public LoadTestWorkload(LoadTestClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+        this.schedule = buildSchedule(options.parseMix());
+    }
+
+    /**
+     * 压测用户：预置工单ID只读，压测期间新建的工单放入 created 供删除使用
+     */
+    private static final class VirtualUser {
+        private final String account;
+        private volatile String token;
+        private final List<String> seededTaskIds = new ArrayList<>();
+        private final ConcurrentLinkedDeque<String> created = new ConcurrentLinkedDeque<>();
+
+        private VirtualUser(String account) {
+            this.account = account;
+        }
+    }
+
+    /**
+     * 预置数据；注册涉及BCrypt，并行度按CPU核数限制，避免触发密码哈希线程池的503限流
+     */
+    public void seed() throws Exception {
+        // 以启动时间区分不同批次，便于对同一实例重复运行
+        long run = System.currentTimeMillis() / 1000 % 100_000;
+        String prefix = "lt" + Long.toString(run, 36) + "_";
+        int parallelism = Math.min(options.getUsers(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<VirtualUser>> futures = new ArrayList<>();
+            for (int i = 0; i < options.getUsers(); i++) {
+                String username = prefix + i;
+                String phone = "13" + String.format("%05d%04d", run, i);
+                futures.add(executor.submit(() -> seedUser(username, phone)));
+            }
+            for (Future<VirtualUser> future : futures) {
+                users.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private VirtualUser seedUser(String username, String phone) {
+        VirtualUser user = new VirtualUser(username);
+        Map<String, Object> register = new LinkedHashMap<>();
+        register.put("username", username);
+        register.put("phone", phone);
+        register.put("password", PASSWORD);
+        user.token = client.callUnmeasured(client.post("/auth/register", null, register)).path("token").asText();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int offset = 0; offset < options.getTasksPerUser(); offset += SEED_BATCH_SIZE) {
+            int count = Math.min(SEED_BATCH_SIZE, options.getTasksPerUser() - offset);
+            List<Map<String, Object>> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tasks.add(randomTask(random, "预置工单-" + (offset + i)));
+            }
+            JsonNode data = client.callUnmeasured(client.post("/task/batch-create", user.token, Map.of("tasks", tasks)));
+            for (JsonNode result : data.path("results")) {
+                if (result.path("success").asBoolean()) {
+                    user.seededTaskIds.add(result.path("taskId").asText());
+                }
+            }
+        }
+        if (user.seededTaskIds.isEmpty()) {
+            throw new IllegalStateException("用户 " + username + " 预置工单失败");
+        }
+        return user;
+    }
+
+    /**
+     * 按配比运行直至 {@link #stop(ExecutorService)}；每个客户端独占一个线程，收到响应后发起下一个请求
+     */
+    public ExecutorService start() {
+        running = true;
+        ExecutorService workers = Executors.newFixedThreadPool(options.getConcurrency());
+        for (int i = 0; i < options.getConcurrency(); i++) {
+            workers.execute(this::runClient);
+        }
+        workers.shutdown();
+        return workers;
+    }
+
+    public void stop(ExecutorService workers) throws InterruptedException {
+        running = false;
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    public int getSeededTaskCount() {
+        return users.stream().mapToInt(user -> user.seededTaskIds.size()).sum();
+    }
+
+    private void runClient() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            VirtualUser user = users.get(random.nextInt(users.size()));
+            execute(schedule[random.nextInt(schedule.length)], user, random);
+            if (options.getThinkTimeMillis() > 0) {
+                try {
+                    Thread.sleep(options.getThinkTimeMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void execute(Operation operation, VirtualUser user, ThreadLocalRandom random) {
+        switch (operation) {
+            case LOGIN -> login(user);
+            case LIST -> client.call(operation, client.get(
+                    "/task/list?page=" + random.nextInt(5) + "&size=" + PAGE_SIZE, user.token));
+            case FILTER -> client.call(operation, client.get(filterQuery(random), user.token));
+            case DETAIL -> client.call(operation, client.get("/task/" + randomSeeded(user, random), user.token));
+            case CREATE -> create(user, random);
+            case UPDATE -> client.call(operation, client.put("/task/" + randomSeeded(user, random), user.token,
+                    randomTask(random, "更新工单-" + random.nextInt(1_000_000))));
+            case DELETE -> {
+                String taskId = user.created.pollFirst();
+                if (taskId == null) {
+                    create(user, random); // 尚无可删除的工单时先创建
+                } else {
+                    client.call(operation, client.delete("/task/" + taskId, user.token));
+                }
+            }
+        }
+    }
+
+    private void login(VirtualUser user) {
+        LoadTestClient.Result result = client.call(Operation.LOGIN,
+                client.post("/auth/login", null, Map.of("account", user.account, "password", PASSWORD)));
+        if (result.success()) {
+            user.token = client.readData(result.body()).path("token").asText();
+        }
+    }
+
+    private void create(VirtualUser user, ThreadLocalRandom random) {
+        LoadTestClient.Result result = client.call(Operation.CREATE, client.post("/task/create", user.token,
+                randomTask(random, "新建工单-" + random.nextInt(1_000_000))));
+        if (result.success()) {
+            user.created.addLast(client.readData(result.body()).path("id").asText());
+        }
+    }
+
+    private static String filterQuery(ThreadLocalRandom random) {
+        StringBuilder query = new StringBuilder("/task/filter?size=").append(PAGE_SIZE);
+        if (random.nextInt(10) < 7) {
+            query.append("&status=").append(pick(STATUSES, random));
+        }
+        if (random.nextBoolean()) {
+            query.append("&priority=").append(pick(PRIORITIES, random));
+        }
+        if (random.nextInt(10) < 3) {
+            query.append("&tag=").append(URLEncoder.encode(pick(TAGS, random), StandardCharsets.UTF_8));
+        }
+        query.append("&sort=").append(pick(SORTS, random))
+                .append("&direction=").append(random.nextBoolean() ? "asc" : "desc");
+        return query.toString();
+    }
+
+    private static Map<String, Object> randomTask(ThreadLocalRandom random, String name) {
+        Map<String, Object> task = new LinkedHashMap<>();
+        task.put("taskName", name);
+        task.put("description", DESCRIPTION);
+        task.put("progressValue", random.nextInt(101));
+        task.put("status", pick(STATUSES, random));
+        task.put("priority", pick(PRIORITIES, random));
+        task.put("dueDate", LocalDateTime.now().plusDays(random.nextInt(-30, 60)).truncatedTo(ChronoUnit.SECONDS).toString());
+        task.put("assignee", pick(ASSIGNEES, random));
+        task.put("category", pick(CATEGORIES, random));
+        List<String> tags = new ArrayList<>();
+        for (int i = random.nextInt(4); i > 0; i--) {
+            String tag = pick(TAGS, random);
+            if (!tags.contains(tag)) {
+                tags.add(tag);
+            }
+        }
+        task.put("tags", tags);
+        return task;
+    }
+
+    private static String randomSeeded(VirtualUser user, ThreadLocalRandom random) {
+        return user.seededTaskIds.get(random.nextInt(user.seededTaskIds.size()));
+    }
+
+    private static String pick(String[] values, ThreadLocalRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * 将权重展开为按比例重复的数组，随机下标即按配比取样
+     */
+    private static Operation[] buildSchedule(Map<Operation, Integer> weights) {
+        List<Operation> schedule = new ArrayList<>();
+        weights.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                schedule.add(operation);
+            }
+        });
+        return schedule.toArray(new Operation[0]);
+    }
+}
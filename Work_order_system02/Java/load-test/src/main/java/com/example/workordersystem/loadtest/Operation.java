@@ -0,0 +1,44 @@
+package com.example.workordersystem.loadtest;
+
+/**
+ * 负载测试覆盖的请求类型
+ */
+public enum Operation {
+    LOGIN("login", "POST /auth/login"),
+    LIST("list", "GET /task/list"),
+    FILTER("filter", "GET /task/filter"),
+    DETAIL("detail", "GET /task/{id}"),
+    CREATE("create", "POST /task/create"),
+    UPDATE("update", "PUT /task/{id}"),
+    DELETE("delete", "DELETE /task/{id}");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    public static Operation of(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("未知的请求类型: " + key);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.workordersystem.common;
+
+/**
+ * 前置条件不满足异常（If-Match 与当前版本不一致，或提交时已被其他请求修改），对应HTTP 412
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.workordersystem.common;
+
+import lombok.Getter;
+
+/**
+ * 服务繁忙异常（资源已满，客户端应稍后重试），对应HTTP 503
+ */
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    /**
+     * 建议客户端重试的等待时间（秒）
+     */
+    private final int retryAfterSeconds;
+
+    public ServiceBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.workordersystem.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 缓存配置类
+ * 缓存实现由 spring.cache.type 决定（默认Caffeine），业务代码只依赖 {@link CacheManager}
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * 工单详情缓存（key：工单ID）
+     */
+    public static final String TASK_DETAIL = "taskDetail";
+
+    /**
+     * 用户信息缓存（key：用户ID）
+     */
+    public static final String USER_INFO = "userInfo";
+
+    /**
+     * 获取事务感知的缓存：事务内的写入和清除延迟到提交之后执行，回滚时不生效
+     */
+    public static Cache transactionAware(CacheManager cacheManager, String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("缓存未配置: " + name);
+        }
+        return new TransactionAwareCacheDecorator(cache);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.workordersystem.config;
+
+import com.example.workordersystem.event.TaskOutboxRelay;
+import com.example.workordersystem.event.TaskStreamRegistry;
+import com.example.workordersystem.metrics.StatementCounter;
+import com.example.workordersystem.search.TaskSearchIndex;
+import com.example.workordersystem.security.TokenDenylist;
+import com.example.workordersystem.service.LastLoginRecorder;
+import com.example.workordersystem.service.PasswordHashingService;
+import com.example.workordersystem.service.TaskOverdueDetector;
+import com.example.workordersystem.util.JwtUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 监控指标配置
+ * HTTP接口（http.server.requests）、Hikari连接池、Caffeine缓存、Hibernate统计由Spring Boot自动注册；
+ * 服务层方法和JWT验证通过 @Timed 计时，这里补充应用内部组件的指标
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 将SQL语句计数器注册到Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    /**
+     * 已验证Token缓存的命中情况
+     */
+    @Bean
+    public MeterBinder jwtCacheMetrics(JwtUtil jwtUtil) {
+        return registry -> {
+            FunctionCounter.builder("jwt.verify.cache", jwtUtil, JwtUtil::getCacheHits)
+                    .description("Token验证缓存命中/未命中次数")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("jwt.verify.cache", jwtUtil, JwtUtil::getCacheMisses)
+                    .description("Token验证缓存命中/未命中次数")
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("jwt.verify.cache.size", jwtUtil, JwtUtil::getCacheSize)
+                    .description("缓存的Token数量")
+                    .register(registry);
+            FunctionCounter.builder("jwt.verify.revoked", jwtUtil, JwtUtil::getRevokedRejections)
+                    .description("因Token已注销被拒绝的次数")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 已注销Token拒绝列表
+     */
+    @Bean
+    public MeterBinder tokenDenylistMetrics(TokenDenylist tokenDenylist) {
+        return registry -> {
+            Gauge.builder("jwt.denylist.size", tokenDenylist, TokenDenylist::getSize)
+                    .description("拒绝列表中未过期的已注销Token数")
+                    .register(registry);
+            Gauge.builder("jwt.denylist.filter", tokenDenylist, TokenDenylist::getFilterBytes)
+                    .description("布隆过滤器占用的内存")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 密码哈希线程池
+     */
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHashingService passwordHashingService) {
+        return registry -> {
+            FunctionTimer.builder("password.hashing", passwordHashingService,
+                            PasswordHashingService::getCompletedCount,
+                            PasswordHashingService::getTotalHashNanos, TimeUnit.NANOSECONDS)
+                    .description("BCrypt哈希次数与累计耗时")
+                    .register(registry);
+            Gauge.builder("password.hashing.max", passwordHashingService,
+                            service -> service.getMaxHashNanos() / 1e9)
+                    .description("单次哈希最大耗时")
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("password.hashing.queue", passwordHashingService, PasswordHashingService::getQueueDepth)
+                    .description("等待执行的哈希任务数")
+                    .register(registry);
+            Gauge.builder("password.hashing.active", passwordHashingService, PasswordHashingService::getActiveCount)
+                    .description("正在执行的哈希任务数")
+                    .register(registry);
+            Gauge.builder("password.hashing.threads", passwordHashingService, PasswordHashingService::getPoolSize)
+                    .description("哈希线程数")
+                    .register(registry);
+            FunctionCounter.builder("password.hashing.rejected", passwordHashingService,
+                            PasswordHashingService::getRejectedCount)
+                    .description("因繁忙被拒绝（返回503）的次数")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 待写入的最后登录时间
+     */
+    @Bean
+    public MeterBinder lastLoginMetrics(LastLoginRecorder lastLoginRecorder) {
+        return registry -> Gauge.builder("last.login.pending", lastLoginRecorder, LastLoginRecorder::getPendingCount)
+                .description("缓冲中尚未写入数据库的最后登录时间数")
+                .register(registry);
+    }
+
+    /**
+     * 工单全文索引
+     */
+    @Bean
+    public MeterBinder taskSearchIndexMetrics(TaskSearchIndex taskSearchIndex) {
+        return registry -> Gauge.builder("task.search.documents", taskSearchIndex, TaskSearchIndex::getDocumentCount)
+                .description("全文索引中的工单数")
+                .register(registry);
+    }
+
+    /**
+     * 工单事件投递（本节点关闭投递时不注册）
+     */
+    @Bean
+    public MeterBinder taskOutboxMetrics(ObjectProvider<TaskOutboxRelay> taskOutboxRelay) {
+        return registry -> taskOutboxRelay.ifAvailable(relay -> {
+            Gauge.builder("task.outbox.lag", relay, TaskOutboxRelay::getLagSeconds)
+                    .description("最早的待发布事件已等待的时间")
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionTimer.builder("task.outbox.delivery", relay,
+                            TaskOutboxRelay::getPublishedCount,
+                            TaskOutboxRelay::getTotalDelayNanos, TimeUnit.NANOSECONDS)
+                    .description("已发布事件数及从写入到发布的累计耗时")
+                    .register(registry);
+            Gauge.builder("task.outbox.delivery.max", relay, r -> r.getMaxDelayNanos() / 1e9)
+                    .description("单个事件从写入到发布的最大耗时")
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionCounter.builder("task.outbox.failures", relay, TaskOutboxRelay::getFailureCount)
+                    .description("发布失败（整批重试）的次数")
+                    .register(registry);
+        });
+    }
+
+    /**
+     * 工单变更推送连接
+     */
+    @Bean
+    public MeterBinder taskStreamMetrics(TaskStreamRegistry taskStreamRegistry) {
+        return registry -> {
+            Gauge.builder("task.stream.connections", taskStreamRegistry, TaskStreamRegistry::getConnectionCount)
+                    .description("当前推送连接数")
+                    .register(registry);
+            FunctionCounter.builder("task.stream.evicted", taskStreamRegistry, TaskStreamRegistry::getEvictedCount)
+                    .description("因发送队列已满或超出单用户连接上限被断开的连接数")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 工单逾期检测
+     */
+    @Bean
+    public MeterBinder taskOverdueMetrics(TaskOverdueDetector taskOverdueDetector) {
+        return registry -> {
+            Gauge.builder("task.overdue.scheduled", taskOverdueDetector, TaskOverdueDetector::getScheduledCount)
+                    .description("时间轮中等待到期的工单数")
+                    .register(registry);
+            FunctionCounter.builder("task.overdue.detected", taskOverdueDetector, TaskOverdueDetector::getDetectedCount)
+                    .description("已标记逾期的工单数")
+                    .register(registry);
+        };
+    }
+}
@@ -1,44 +1,70 @@
 package com.example.workordersystem.config;
 
+import com.example.workordersystem.security.JwtAuthenticationEntryPoint;
+import com.example.workordersystem.security.JwtAuthenticationFilter;
+import com.example.workordersystem.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
  * 安全配置类
  */
 @Configuration
 @EnableWebSecurity
+@RequiredArgsConstructor
 public class SecurityConfig {
 
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+
     /**
      * 密码编码器
+     * 强度（cost）可配置，调整后旧密码会在用户下次登录时按新强度重新加密
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${password.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     /**
      * 安全过滤器链配置
-     * 禁用默认的安全拦截，允许所有请求通过（我们使用JWT进行认证）
+     * 由JWT过滤器统一完成认证，工单接口和当前用户信息接口需要登录
+     * 健康检查和Prometheus抓取端点不需要登录（生产环境应在网关限制来源），其余监控端点需要登录
      */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable())  // 禁用CSRF（因为使用JWT）
+            .cors(Customizer.withDefaults())  // 使用WebConfig中的CORS配置
             .authorizeHttpRequests(auth -> auth
-                .anyRequest().permitAll()  // 允许所有请求
+                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // 异步请求（推送连接）结束时的再次分发：首次分发已完成认证，JWT过滤器不会再次执行
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers("/task/**", "/user/info").authenticated()
+                .requestMatchers("/actuator/health/**", "/actuator/info", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").authenticated()
+                .anyRequest().permitAll()
             )
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)  // 无状态会话（使用JWT）
-            );
+            )
+            .exceptionHandling(exception -> exception
+                .authenticationEntryPoint(new JwtAuthenticationEntryPoint(objectMapper))
+            )
+            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 }
-
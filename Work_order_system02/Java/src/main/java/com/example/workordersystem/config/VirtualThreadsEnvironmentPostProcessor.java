@@ -0,0 +1,34 @@
+package com.example.workordersystem.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * 确定是否启用虚拟线程（spring.threads.virtual.enabled）
+ * 未配置时按运行的JDK决定：JDK 21及以上启用，否则使用平台线程；
+ * 显式配置为true但JDK低于21时启动失败，避免以为已启用虚拟线程而实际仍受Tomcat线程数限制
+ */
+public class VirtualThreadsEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String PROPERTY = "spring.threads.virtual.enabled";
+    static final int REQUIRED_JAVA_VERSION = 21;
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        String configured = environment.getProperty(PROPERTY);
+        int javaVersion = Runtime.version().feature();
+        if (configured == null || configured.isBlank()) {
+            environment.getPropertySources().addFirst(new MapPropertySource("virtualThreads",
+                    Map.of(PROPERTY, javaVersion >= REQUIRED_JAVA_VERSION)));
+            return;
+        }
+        if (Boolean.parseBoolean(configured.trim()) && javaVersion < REQUIRED_JAVA_VERSION) {
+            throw new IllegalStateException("虚拟线程需要JDK " + REQUIRED_JAVA_VERSION + " 及以上，当前为JDK " + javaVersion
+                    + "；请升级JDK，或设置 VIRTUAL_THREADS_ENABLED=false 使用平台线程");
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.example.workordersystem.controller;
 
 import com.example.workordersystem.common.ApiResponse;
+import com.example.workordersystem.common.ServiceBusyException;
 import com.example.workordersystem.dto.LoginRequest;
+import com.example.workordersystem.dto.LogoutRequest;
+import com.example.workordersystem.dto.RefreshTokenRequest;
 import com.example.workordersystem.dto.RegisterRequest;
 import com.example.workordersystem.dto.UserInfoResponse;
+import com.example.workordersystem.metrics.SqlBudget;
+import com.example.workordersystem.metrics.SqlBudgetExceededException;
+import com.example.workordersystem.security.CurrentUser;
+import com.example.workordersystem.security.JwtPrincipal;
+import com.example.workordersystem.service.AuthTokenService;
 import com.example.workordersystem.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 
 /**
  * 认证控制器
+ * 密码哈希线程池繁忙时抛出的 {@link ServiceBusyException} 交由全局异常处理器返回503
  */
 @RestController
 @RequestMapping("/auth")
@@ -18,15 +27,19 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final UserService userService;
+    private final AuthTokenService authTokenService;
 
     /**
      * 用户注册
      */
     @PostMapping("/register")
+    @SqlBudget(4)
     public ApiResponse<UserInfoResponse> register(@Valid @RequestBody RegisterRequest request) {
         try {
             UserInfoResponse response = userService.register(request);
             return ApiResponse.success("注册成功", response);
+        } catch (ServiceBusyException | SqlBudgetExceededException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ApiResponse.error(400, e.getMessage());
         } catch (Exception e) {
@@ -38,10 +51,13 @@ public class AuthController {
      * 用户登录
      */
     @PostMapping("/login")
+    @SqlBudget(3)
     public ApiResponse<UserInfoResponse> login(@Valid @RequestBody LoginRequest request) {
         try {
             UserInfoResponse response = userService.login(request);
             return ApiResponse.success("登录成功", response);
+        } catch (ServiceBusyException | SqlBudgetExceededException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ApiResponse.error(401, e.getMessage());
         } catch (Exception e) {
@@ -50,11 +66,38 @@ public class AuthController {
     }
 
     /**
-     * 退出登录（可选，如果使用JWT，客户端删除Token即可）
+     * 刷新Token：用刷新Token换取新的访问Token和刷新Token，旧的刷新Token随即失效
+     */
+    @PostMapping("/refresh")
+    @SqlBudget(4)
+    public ApiResponse<UserInfoResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            UserInfoResponse response = authTokenService.refresh(request.getRefreshToken());
+            return ApiResponse.success("刷新成功", response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return ApiResponse.error(401, e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("刷新失败，请稍后重试");
+        }
+    }
+
+    /**
+     * 退出登录：当前访问Token立即失效，请求体中带刷新Token时一并作废
      */
     @PostMapping("/logout")
-    public ApiResponse<Void> logout() {
-        return ApiResponse.success("退出成功", null);
+    @SqlBudget(3)
+    public ApiResponse<Void> logout(@CurrentUser JwtPrincipal user,
+                                    @RequestBody(required = false) LogoutRequest request) {
+        try {
+            authTokenService.logout(user, request != null ? request.getRefreshToken() : null);
+            return ApiResponse.success("退出成功", null);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            return ApiResponse.error("退出失败，请稍后重试");
+        }
     }
 }
 
@@ -1,7 +1,12 @@
 package com.example.workordersystem.controller;
 
 import com.example.workordersystem.common.ApiResponse;
+import com.example.workordersystem.common.PreconditionFailedException;
+import com.example.workordersystem.common.ServiceBusyException;
+import com.example.workordersystem.metrics.SqlBudgetExceededException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -32,6 +37,34 @@ public class GlobalExceptionHandler {
         return ApiResponse.error(400, "参数验证失败: " + errors.toString());
     }
 
+    /**
+     * 处理服务繁忙异常（返回503并通过Retry-After提示重试时间）
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceBusyException(ServiceBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(503, ex.getMessage()));
+    }
+
+    /**
+     * 处理前置条件不满足异常（If-Match 版本不一致或并发修改，返回412）
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ApiResponse<Void> handlePreconditionFailedException(PreconditionFailedException ex) {
+        return ApiResponse.error(412, ex.getMessage());
+    }
+
+    /**
+     * 处理SQL预算超出异常（sql-budget.mode=strict），作为服务端错误返回500，测试和压测中按失败统计
+     */
+    @ExceptionHandler(SqlBudgetExceededException.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public ApiResponse<Void> handleSqlBudgetExceededException(SqlBudgetExceededException ex) {
+        return ApiResponse.error(500, ex.getMessage());
+    }
+
     /**
      * 处理运行时异常
      */
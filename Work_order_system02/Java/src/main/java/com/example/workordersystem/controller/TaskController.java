@@ -1,56 +1,76 @@
 package com.example.workordersystem.controller;
 
 import com.example.workordersystem.common.ApiResponse;
+import com.example.workordersystem.common.PreconditionFailedException;
+import com.example.workordersystem.dto.BatchCreateRequest;
+import com.example.workordersystem.dto.BatchDeleteRequest;
+import com.example.workordersystem.dto.BatchTaskResponse;
+import com.example.workordersystem.dto.BatchUpdateRequest;
+import com.example.workordersystem.dto.CursorPageResponse;
+import com.example.workordersystem.dto.SliceResponse;
+import com.example.workordersystem.dto.TaskFilterRequest;
+import com.example.workordersystem.dto.TaskPatchRequest;
 import com.example.workordersystem.dto.TaskRequest;
 import com.example.workordersystem.dto.TaskResponse;
+import com.example.workordersystem.dto.TaskChangesResponse;
+import com.example.workordersystem.dto.TaskStatisticsResponse;
+import com.example.workordersystem.dto.TaskSummaryResponse;
+import com.example.workordersystem.event.TaskStreamRegistry;
+import com.example.workordersystem.metrics.SqlBudget;
+import com.example.workordersystem.metrics.SqlBudgetExceededException;
+import com.example.workordersystem.security.CurrentUser;
+import com.example.workordersystem.security.JwtPrincipal;
+import com.example.workordersystem.service.TaskChangeService;
 import com.example.workordersystem.service.TaskService;
-import com.example.workordersystem.util.JwtUtil;
+import com.example.workordersystem.service.TaskStatisticsService;
+import com.example.workordersystem.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
 
 /**
  * 工单控制器
+ * 当前用户由JWT认证过滤器解析，通过 {@link CurrentUser} 注入
+ * 列表类接口返回不含描述的列表项，完整内容通过工单详情接口获取
+ * 工单详情和修改接口通过ETag（版本号）支持条件请求：If-None-Match 未变化时返回304，If-Match 版本不一致时返回412
  */
 @RestController
 @RequestMapping("/task")
 @RequiredArgsConstructor
 public class TaskController {
 
-    private final TaskService taskService;
-    private final JwtUtil jwtUtil;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_KEYWORD_LENGTH = 100;
 
-    /**
-     * 获取当前用户ID（从Token中提取）
-     */
-    private String getUserIdFromToken(String token) {
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
-            if (jwtUtil.validateToken(token)) {
-                return jwtUtil.getUserIdFromToken(token);
-            }
-        }
-        throw new RuntimeException("未授权，请先登录");
-    }
+    private final TaskService taskService;
+    private final TaskStatisticsService taskStatisticsService;
+    private final TaskChangeService taskChangeService;
+    private final TaskStreamRegistry taskStreamRegistry;
 
     /**
      * 创建工单
      */
     @PostMapping("/create")
+    @SqlBudget(8)
     public ApiResponse<TaskResponse> createTask(
-            @RequestHeader(value = "Authorization", required = false) String token,
+            @CurrentUser JwtPrincipal user,
             @Valid @RequestBody TaskRequest request) {
         try {
-            String userId = getUserIdFromToken(token);
-            TaskResponse response = taskService.createTask(userId, request);
+            TaskResponse response = taskService.createTask(user.getUserId(), request);
             return ApiResponse.success("创建成功", response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
         } catch (RuntimeException e) {
-            return ApiResponse.error(401, e.getMessage());
+            return ApiResponse.error(400, e.getMessage());
         } catch (Exception e) {
             return ApiResponse.error("创建工单失败");
         }
@@ -58,20 +78,47 @@ public class TaskController {
 
     /**
      * 更新工单
+     * 带 If-Match 时仅在版本一致时更新，否则返回412；响应头ETag为更新后的版本
      */
     @PutMapping("/{taskId}")
-    public ApiResponse<TaskResponse> updateTask(
-            @RequestHeader(value = "Authorization", required = false) String token,
+    @SqlBudget(12)
+    public ResponseEntity<ApiResponse<TaskResponse>> updateTask(
+            @CurrentUser JwtPrincipal user,
             @PathVariable String taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TaskRequest request) {
         try {
-            String userId = getUserIdFromToken(token);
-            TaskResponse response = taskService.updateTask(taskId, userId, request);
-            return ApiResponse.success("更新成功", response);
+            TaskResponse response = taskService.updateTask(taskId, user.getUserId(), request, ETags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(ApiResponse.success("更新成功", response));
+        } catch (PreconditionFailedException | SqlBudgetExceededException e) {
+            throw e;
         } catch (RuntimeException e) {
-            return ApiResponse.error(400, e.getMessage());
+            return ResponseEntity.ok(ApiResponse.error(400, e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.ok(ApiResponse.error("更新工单失败"));
+        }
+    }
+
+    /**
+     * 部分更新工单
+     * 只修改请求中出现的字段，生成一条只包含变化列、带版本条件的UPDATE；If-Match 与更新接口相同
+     */
+    @PatchMapping("/{taskId}")
+    @SqlBudget(12)
+    public ResponseEntity<ApiResponse<TaskResponse>> patchTask(
+            @CurrentUser JwtPrincipal user,
+            @PathVariable String taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TaskPatchRequest request) {
+        try {
+            TaskResponse response = taskService.patchTask(taskId, user.getUserId(), request, ETags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(ApiResponse.success("更新成功", response));
+        } catch (PreconditionFailedException | SqlBudgetExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return ResponseEntity.ok(ApiResponse.error(400, e.getMessage()));
         } catch (Exception e) {
-            return ApiResponse.error("更新工单失败");
+            return ResponseEntity.ok(ApiResponse.error("更新工单失败"));
         }
     }
 
@@ -79,13 +126,15 @@ public class TaskController {
      * 删除工单
      */
     @DeleteMapping("/{taskId}")
+    @SqlBudget(10)
     public ApiResponse<Void> deleteTask(
-            @RequestHeader(value = "Authorization", required = false) String token,
+            @CurrentUser JwtPrincipal user,
             @PathVariable String taskId) {
         try {
-            String userId = getUserIdFromToken(token);
-            taskService.deleteTask(taskId, userId);
+            taskService.deleteTask(taskId, user.getUserId());
             return ApiResponse.success("删除成功", null);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ApiResponse.error(400, e.getMessage());
         } catch (Exception e) {
@@ -93,21 +142,90 @@ public class TaskController {
         }
     }
 
+    /**
+     * 批量创建工单
+     */
+    @PostMapping("/batch-create")
+    @SqlBudget(40)
+    public ApiResponse<BatchTaskResponse> batchCreateTasks(
+            @CurrentUser JwtPrincipal user,
+            @Valid @RequestBody BatchCreateRequest request) {
+        try {
+            BatchTaskResponse response = taskService.batchCreateTasks(user.getUserId(), request.getTasks());
+            return ApiResponse.success("批量创建完成", response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return ApiResponse.error(400, e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("批量创建工单失败");
+        }
+    }
+
+    /**
+     * 批量更新工单
+     * 读取后有工单被并发修改时整批不生效，返回412
+     */
+    @PostMapping("/batch-update")
+    @SqlBudget(40)
+    public ApiResponse<BatchTaskResponse> batchUpdateTasks(
+            @CurrentUser JwtPrincipal user,
+            @Valid @RequestBody BatchUpdateRequest request) {
+        try {
+            BatchTaskResponse response = taskService.batchUpdateTasks(user.getUserId(), request.getTasks());
+            return ApiResponse.success("批量更新完成", response);
+        } catch (PreconditionFailedException | SqlBudgetExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return ApiResponse.error(400, e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("批量更新工单失败");
+        }
+    }
+
+    /**
+     * 批量删除工单
+     */
+    @PostMapping("/batch-delete")
+    @SqlBudget(40)
+    public ApiResponse<BatchTaskResponse> batchDeleteTasks(
+            @CurrentUser JwtPrincipal user,
+            @Valid @RequestBody BatchDeleteRequest request) {
+        try {
+            BatchTaskResponse response = taskService.batchDeleteTasks(user.getUserId(), request.getTaskIds());
+            return ApiResponse.success("批量删除完成", response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return ApiResponse.error(400, e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("批量删除工单失败");
+        }
+    }
+
     /**
      * 获取工单详情
+     * 响应头带ETag；If-None-Match 与当前版本一致时返回304，不返回响应体
      */
     @GetMapping("/{taskId}")
-    public ApiResponse<TaskResponse> getTaskById(
-            @RequestHeader(value = "Authorization", required = false) String token,
-            @PathVariable String taskId) {
+    @SqlBudget(2)
+    public ResponseEntity<ApiResponse<TaskResponse>> getTaskById(
+            @CurrentUser JwtPrincipal user,
+            @PathVariable String taskId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            String userId = getUserIdFromToken(token);
-            TaskResponse response = taskService.getTaskById(taskId, userId);
-            return ApiResponse.success(response);
+            TaskResponse response = taskService.getTaskById(taskId, user.getUserId());
+            boolean notModified = ETags.matchesNoneMatch(ifNoneMatch, response.getVersion());
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                    .eTag(ETags.of(response.getVersion()))
+                    .cacheControl(CacheControl.noCache().cachePrivate());
+            return notModified ? builder.build() : builder.body(ApiResponse.success(response));
+        } catch (SqlBudgetExceededException e) {
+            throw e;
         } catch (RuntimeException e) {
-            return ApiResponse.error(404, e.getMessage());
+            return ResponseEntity.ok(ApiResponse.error(404, e.getMessage()));
         } catch (Exception e) {
-            return ApiResponse.error("获取工单失败");
+            return ResponseEntity.ok(ApiResponse.error("获取工单失败"));
         }
     }
 
@@ -115,56 +233,191 @@ public class TaskController {
      * 获取工单列表（分页）
      */
     @GetMapping("/list")
-    public ApiResponse<Page<TaskResponse>> getTaskList(
-            @RequestHeader(value = "Authorization", required = false) String token,
+    @SqlBudget(3)
+    public ApiResponse<Page<TaskSummaryResponse>> getTaskList(
+            @CurrentUser JwtPrincipal user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            String userId = getUserIdFromToken(token);
             Pageable pageable = PageRequest.of(page, size);
-            Page<TaskResponse> response = taskService.getTaskList(userId, pageable);
+            Page<TaskSummaryResponse> response = taskService.getTaskList(user.getUserId(), pageable);
+            return ApiResponse.success(response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return ApiResponse.error(400, e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("获取工单列表失败");
+        }
+    }
+
+    /**
+     * 获取工单列表（游标分页）
+     * 首次请求不带cursor，之后使用上一页返回的nextCursor继续获取
+     */
+    @GetMapping("/list/cursor")
+    @SqlBudget(3)
+    public ApiResponse<CursorPageResponse<TaskSummaryResponse>> getTaskListByCursor(
+            @CurrentUser JwtPrincipal user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        try {
+            int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+            CursorPageResponse<TaskSummaryResponse> response =
+                    taskService.getTaskListByCursor(user.getUserId(), cursor, pageSize, withTotal);
             return ApiResponse.success(response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
         } catch (RuntimeException e) {
-            return ApiResponse.error(401, e.getMessage());
+            return ApiResponse.error(400, e.getMessage());
         } catch (Exception e) {
             return ApiResponse.error("获取工单列表失败");
         }
     }
 
     /**
-     * 根据状态获取工单列表
+     * 增量同步：获取游标之后新建、修改和删除的工单
+     * 首次同步不带since，之后使用上次返回的nextCursor；hasMore为true时继续获取，fullSync为true时清空本地数据后重新同步
+     */
+    @GetMapping("/changes")
+    @SqlBudget(3)
+    public ApiResponse<TaskChangesResponse> getChanges(
+            @CurrentUser JwtPrincipal user,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "200") int limit) {
+        try {
+            TaskChangesResponse response = taskChangeService.getChanges(user.getUserId(), since, limit);
+            return ApiResponse.success(response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return ApiResponse.error(400, e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("获取工单变更失败");
+        }
+    }
+
+    /**
+     * 订阅工单变更推送（Server-Sent Events）
+     * 连接建立后先收到 ready 事件，之后当前用户的工单新建、修改、删除时收到 task 事件（类型、工单ID、版本号），
+     * 客户端收到后调用增量同步接口拉取变更；连接断开后重连，并先做一次增量同步补齐断开期间的变更
+     */
+    @GetMapping("/stream")
+    @SqlBudget(1)
+    public SseEmitter stream(@CurrentUser JwtPrincipal user) {
+        return taskStreamRegistry.open(user.getUserId());
+    }
+
+    /**
+     * 按组合条件筛选工单
+     * 支持 status、priority、category、assignee、tag、dueFrom、dueTo 及排序，每页最多100条
+     */
+    @GetMapping("/filter")
+    @SqlBudget(2)
+    public ApiResponse<SliceResponse<TaskSummaryResponse>> filterTasks(
+            @CurrentUser JwtPrincipal user,
+            @Valid @ModelAttribute TaskFilterRequest filter) {
+        try {
+            SliceResponse<TaskSummaryResponse> response = taskService.searchTasks(user.getUserId(), filter);
+            return ApiResponse.success(response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return ApiResponse.error(400, e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("筛选工单失败");
+        }
+    }
+
+    /**
+     * 按关键词全文检索工单
+     * 在名称、描述、分类、标签中匹配，按相关度排序，每页最多100条
+     */
+    @GetMapping("/search")
+    @SqlBudget(2)
+    public ApiResponse<SliceResponse<TaskSummaryResponse>> searchTasks(
+            @CurrentUser JwtPrincipal user,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            if (q == null || q.isBlank()) {
+                return ApiResponse.error(400, "搜索关键词不能为空");
+            }
+            if (q.length() > MAX_KEYWORD_LENGTH) {
+                return ApiResponse.error(400, "搜索关键词不能超过" + MAX_KEYWORD_LENGTH + "个字符");
+            }
+            SliceResponse<TaskSummaryResponse> response = taskService.searchByKeyword(user.getUserId(), q, page, size);
+            return ApiResponse.success(response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return ApiResponse.error(400, e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("搜索工单失败");
+        }
+    }
+
+    /**
+     * 获取当前用户的工单统计
+     */
+    @GetMapping("/statistics")
+    @SqlBudget(12)
+    public ApiResponse<TaskStatisticsResponse> getStatistics(@CurrentUser JwtPrincipal user) {
+        try {
+            TaskStatisticsResponse response = taskStatisticsService.getStatistics(user.getUserId());
+            return ApiResponse.success(response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return ApiResponse.error(400, e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("获取工单统计失败");
+        }
+    }
+
+    /**
+     * 根据状态分页获取工单列表，每页最多100条，返回 hasMore 而不统计总数
      */
     @GetMapping("/status/{status}")
-    public ApiResponse<List<TaskResponse>> getTasksByStatus(
-            @RequestHeader(value = "Authorization", required = false) String token,
-            @PathVariable String status) {
+    @SqlBudget(2)
+    public ApiResponse<SliceResponse<TaskSummaryResponse>> getTasksByStatus(
+            @CurrentUser JwtPrincipal user,
+            @PathVariable String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
         try {
-            String userId = getUserIdFromToken(token);
-            List<TaskResponse> response = taskService.getTasksByStatus(userId, status);
+            SliceResponse<TaskSummaryResponse> response = taskService.getTasksByStatus(user.getUserId(), status, page, size);
             return ApiResponse.success(response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
         } catch (RuntimeException e) {
-            return ApiResponse.error(401, e.getMessage());
+            return ApiResponse.error(400, e.getMessage());
         } catch (Exception e) {
             return ApiResponse.error("获取工单列表失败");
         }
     }
 
     /**
-     * 根据优先级获取工单列表
+     * 根据优先级分页获取工单列表，每页最多100条，返回 hasMore 而不统计总数
      */
     @GetMapping("/priority/{priority}")
-    public ApiResponse<List<TaskResponse>> getTasksByPriority(
-            @RequestHeader(value = "Authorization", required = false) String token,
-            @PathVariable String priority) {
+    @SqlBudget(2)
+    public ApiResponse<SliceResponse<TaskSummaryResponse>> getTasksByPriority(
+            @CurrentUser JwtPrincipal user,
+            @PathVariable String priority,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
         try {
-            String userId = getUserIdFromToken(token);
-            List<TaskResponse> response = taskService.getTasksByPriority(userId, priority);
+            SliceResponse<TaskSummaryResponse> response = taskService.getTasksByPriority(user.getUserId(), priority, page, size);
             return ApiResponse.success(response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
         } catch (RuntimeException e) {
-            return ApiResponse.error(401, e.getMessage());
+            return ApiResponse.error(400, e.getMessage());
         } catch (Exception e) {
             return ApiResponse.error("获取工单列表失败");
         }
     }
 }
-
@@ -2,8 +2,11 @@ package com.example.workordersystem.controller;
 
 import com.example.workordersystem.common.ApiResponse;
 import com.example.workordersystem.dto.UserInfoResponse;
+import com.example.workordersystem.metrics.SqlBudget;
+import com.example.workordersystem.metrics.SqlBudgetExceededException;
+import com.example.workordersystem.security.CurrentUser;
+import com.example.workordersystem.security.JwtPrincipal;
 import com.example.workordersystem.service.UserService;
-import com.example.workordersystem.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,23 +19,20 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
-    private final JwtUtil jwtUtil;
 
     /**
      * 获取当前用户信息（通过Token）
      */
     @GetMapping("/info")
-    public ApiResponse<UserInfoResponse> getUserInfo(@RequestHeader(value = "Authorization", required = false) String token) {
+    @SqlBudget(2)
+    public ApiResponse<UserInfoResponse> getUserInfo(@CurrentUser JwtPrincipal user) {
         try {
-            // 从Token中提取用户信息
-            if (token != null && token.startsWith("Bearer ")) {
-                token = token.substring(7);
-                if (jwtUtil.validateToken(token)) {
-                    UserInfoResponse response = userService.getUserInfoByToken(token);
-                    return ApiResponse.success(response);
-                }
-            }
-            return ApiResponse.error(401, "未授权，请先登录");
+            UserInfoResponse response = userService.getUserInfo(user.getUserId());
+            return ApiResponse.success(response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return ApiResponse.error(404, e.getMessage());
         } catch (Exception e) {
             return ApiResponse.error("获取用户信息失败");
         }
@@ -42,10 +42,13 @@ public class UserController {
      * 根据用户ID获取用户信息
      */
     @GetMapping("/{userId}")
+    @SqlBudget(2)
     public ApiResponse<UserInfoResponse> getUserById(@PathVariable String userId) {
         try {
             UserInfoResponse response = userService.getUserInfo(userId);
             return ApiResponse.success(response);
+        } catch (SqlBudgetExceededException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ApiResponse.error(404, e.getMessage());
         } catch (Exception e) {
@@ -53,4 +56,3 @@ public class UserController {
         }
     }
 }
-
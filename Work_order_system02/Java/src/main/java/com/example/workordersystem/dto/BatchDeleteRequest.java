@@ -0,0 +1,17 @@
+package com.example.workordersystem.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量删除工单请求DTO
+ */
+@Data
+public class BatchDeleteRequest {
+    @NotEmpty(message = "工单ID列表不能为空")
+    @Size(max = 500, message = "单次最多处理500个工单")
+    private List<String> taskIds;
+}
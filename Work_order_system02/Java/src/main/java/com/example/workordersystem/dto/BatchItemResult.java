@@ -0,0 +1,27 @@
+package com.example.workordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量操作中单个工单的处理结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+    private Integer index; // 在请求列表中的位置
+    private String taskId;
+    private Boolean success;
+    private String message;
+    private TaskResponse task; // 创建/更新成功时返回
+
+    public static BatchItemResult ok(int index, String taskId, TaskResponse task) {
+        return new BatchItemResult(index, taskId, true, null, task);
+    }
+
+    public static BatchItemResult fail(int index, String taskId, String message) {
+        return new BatchItemResult(index, taskId, false, message, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.workordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量操作响应DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTaskResponse {
+    private Boolean success; // 全部成功时为true
+    private Integer successCount;
+    private Integer failedCount;
+    private Integer deletedCount; // 仅批量删除返回
+    private List<BatchItemResult> results;
+
+    public static BatchTaskResponse of(List<BatchItemResult> results) {
+        int successCount = (int) results.stream().filter(BatchItemResult::getSuccess).count();
+        int failedCount = results.size() - successCount;
+        return new BatchTaskResponse(failedCount == 0, successCount, failedCount, null, results);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.workordersystem.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量更新工单请求DTO
+ */
+@Data
+public class BatchUpdateRequest {
+    @NotEmpty(message = "工单列表不能为空")
+    @Size(max = 500, message = "单次最多处理500个工单")
+    private List<TaskUpdateItem> tasks;
+}
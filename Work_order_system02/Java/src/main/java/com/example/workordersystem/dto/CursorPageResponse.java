@@ -0,0 +1,20 @@
+package com.example.workordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页响应DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> list;
+    private String nextCursor; // 下一页游标，没有更多数据时为空
+    private Boolean hasMore;
+    private Long total; // 仅在请求统计总数时返回
+}
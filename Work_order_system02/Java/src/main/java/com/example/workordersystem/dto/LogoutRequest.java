@@ -0,0 +1,11 @@
+package com.example.workordersystem.dto;
+
+import lombok.Data;
+
+/**
+ * 退出登录请求DTO
+ */
+@Data
+public class LogoutRequest {
+    private String refreshToken; // 同时作废的刷新Token（可选）
+}
@@ -0,0 +1,13 @@
+package com.example.workordersystem.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * 刷新Token请求DTO
+ */
+@Data
+public class RefreshTokenRequest {
+    @NotBlank(message = "刷新Token不能为空")
+    private String refreshToken;
+}
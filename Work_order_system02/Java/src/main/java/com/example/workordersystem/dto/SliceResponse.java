@@ -0,0 +1,20 @@
+package com.example.workordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 有界分页响应DTO（不统计总数，仅返回是否还有下一页）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceResponse<T> {
+    private List<T> list;
+    private Integer page;
+    private Integer size;
+    private Boolean hasMore;
+}
@@ -0,0 +1,25 @@
+package com.example.workordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 增量同步响应DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesResponse {
+    private List<TaskSummaryResponse> changed; // 游标之后新建或修改的工单（不含描述）
+    private List<String> deleted; // 游标之后删除的工单ID
+    private String nextCursor; // 下次同步使用的游标
+    private Boolean hasMore; // 为true时应立即使用nextCursor继续获取
+    private Boolean fullSync; // 为true时游标已超出删除记录保留期，客户端需清空本地数据后不带游标重新同步
+
+    public static TaskChangesResponse fullSyncRequired() {
+        return new TaskChangesResponse(List.of(), List.of(), null, false, true);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.workordersystem.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 工单筛选请求DTO（所有条件均可选，组合使用）
+ */
+@Data
+public class TaskFilterRequest {
+    private String status;
+
+    private String priority;
+
+    private String category;
+
+    private String assignee;
+
+    private String tag; // 包含该标签的工单
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom; // 截止日期起
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo; // 截止日期止
+
+    private String sort = "createDate"; // createDate/updateDate/dueDate/priority/progressValue/taskName
+
+    private String direction = "desc"; // asc/desc
+
+    @Min(value = 0, message = "页码不能小于0")
+    private Integer page = 0;
+
+    @Min(value = 1, message = "每页数量不能小于1")
+    @Max(value = 100, message = "每页数量不能大于100")
+    private Integer size = 20;
+}
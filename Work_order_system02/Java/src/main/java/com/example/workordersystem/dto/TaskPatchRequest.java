@@ -0,0 +1,39 @@
+package com.example.workordersystem.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 工单部分更新请求DTO
+ * 只修改请求中出现（非null）的字段，其余字段保持不变
+ */
+@Data
+public class TaskPatchRequest {
+    @Pattern(regexp = ".*\\S.*", message = "工单名称不能为空")
+    private String taskName;
+
+    private String description;
+
+    @Min(value = 0, message = "进度值不能小于0")
+    @Max(value = 100, message = "进度值不能大于100")
+    private Integer progressValue;
+
+    private String status; // pending/in_progress/completed/cancelled
+
+    private String priority; // low/medium/high/urgent
+
+    private LocalDateTime dueDate;
+
+    private String assignee;
+
+    private String category;
+
+    @Size(max = 10, message = "标签数量不能超过10个")
+    private List<@Size(max = 40, message = "单个标签长度不能超过40个字符") String> tags;
+}
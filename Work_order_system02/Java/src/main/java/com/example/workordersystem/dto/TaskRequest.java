@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -34,6 +35,7 @@ public class TaskRequest {
 
     private String category;
 
-    private List<String> tags;
+    @Size(max = 10, message = "标签数量不能超过10个")
+    private List<@Size(max = 40, message = "单个标签长度不能超过40个字符") String> tags;
 }
 
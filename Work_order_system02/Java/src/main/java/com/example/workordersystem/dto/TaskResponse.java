@@ -25,11 +25,13 @@ public class TaskResponse {
     private LocalDateTime createDate;
     private LocalDateTime updateDate;
     private LocalDateTime dueDate;
+    private LocalDateTime overdueTime; // 检测到逾期的时间，未逾期时为空
     private String assignee;
     private String category;
     private List<String> tags;
     private String userId;
     private LocalDateTime createTime;
     private LocalDateTime updateTime;
+    private Long version; // 与响应头ETag一致，修改时作为 If-Match 的值
 }
 
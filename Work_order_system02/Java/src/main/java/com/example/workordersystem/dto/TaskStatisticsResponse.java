@@ -0,0 +1,28 @@
+package com.example.workordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 工单统计响应DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatisticsResponse {
+    private Long total;
+    private Long completed;
+    private Long inProgress;
+    private Long notStarted;
+    private Long overdue;
+    private Integer completionRate; // 完成率（0-100）
+    private Integer averageProgress; // 平均进度（0-100）
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byPriority;
+    private Map<String, Long> byCategory; // 未分类的工单使用空字符串作为键
+}
@@ -0,0 +1,31 @@
+package com.example.workordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 工单列表项响应DTO（不含描述，完整内容通过工单详情接口获取）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSummaryResponse {
+    private String id;
+    private String taskName;
+    private Integer progressValue;
+    private String status;
+    private String priority;
+    private LocalDateTime createDate;
+    private LocalDateTime updateDate;
+    private LocalDateTime dueDate;
+    private String assignee;
+    private String category;
+    private List<String> tags;
+    private Long version; // 修改时作为 If-Match 的值
+}
@@ -0,0 +1,13 @@
+package com.example.workordersystem.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 批量更新中的单个工单（工单ID + 更新内容）
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TaskUpdateItem extends TaskRequest {
+    private String taskId;
+}
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class UserInfoResponse {
     private String id;
     private String username;
@@ -21,5 +21,6 @@ public class UserInfoResponse {
     private LocalDateTime registerTime;
     private LocalDateTime lastLoginTime;
     private String token; // JWT Token（可选）
+    private String refreshToken; // 刷新Token（登录、注册、刷新时返回）
 }
 
@@ -4,23 +4,31 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 
 /**
  * 工单实体类
+ * version 用于乐观锁：UPDATE 带版本条件，并发修改时后提交的一方失败；
+ * 动态UPDATE只写入实际变化的列
  */
 @Entity
+@DynamicUpdate
 @Table(name = "tasks", indexes = {
-    @Index(name = "idx_user_id", columnList = "user_id"),
-    @Index(name = "idx_status", columnList = "status"),
-    @Index(name = "idx_priority", columnList = "priority"),
-    @Index(name = "idx_create_date", columnList = "create_date")
+    @Index(name = "idx_user_create_date", columnList = "user_id, create_date, id"),
+    @Index(name = "idx_user_status", columnList = "user_id, status, create_date"),
+    @Index(name = "idx_user_priority", columnList = "user_id, priority, create_date"),
+    @Index(name = "idx_user_category", columnList = "user_id, category"),
+    @Index(name = "idx_user_due_date", columnList = "user_id, due_date"),
+    @Index(name = "idx_user_update_time", columnList = "user_id, update_time, id"),
+    @Index(name = "idx_status_overdue_due_date", columnList = "status, overdue_time, due_date")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Task {
+public class Task implements Persistable<String> {
 
     @Id
     @Column(name = "id", length = 64)
@@ -50,6 +58,12 @@ public class Task {
     @Column(name = "due_date")
     private LocalDateTime dueDate;
 
+    /**
+     * 检测到逾期的时间，未逾期或尚未检测到时为空；修改截止日期或重新打开工单时清空
+     */
+    @Column(name = "overdue_time")
+    private LocalDateTime overdueTime;
+
     @Column(name = "assignee", length = 64)
     private String assignee;
 
@@ -68,10 +82,31 @@ public class Task {
     @Column(name = "update_time", nullable = false)
     private LocalDateTime updateTime;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false)
     private User user;
 
+    /**
+     * 是否为新建实体：ID由应用分配，save() 据此直接INSERT而不先按主键查询
+     */
+    @Transient
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        newEntity = false;
+    }
+
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
@@ -0,0 +1,65 @@
+package com.example.workordersystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 工单事件发件箱
+ * 工单写操作在同一事务中写入，由后台投递任务按ID顺序读取、发布后删除。
+ * ID为按时间递增的UUIDv7，同一工单的事件按写入顺序排列
+ */
+@Entity
+@Table(name = "task_outbox")
+@Data
+@NoArgsConstructor
+public class TaskOutboxEvent implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(name = "event_type", length = 20, nullable = false)
+    private String eventType;
+
+    @Column(name = "task_id", length = 64, nullable = false)
+    private String taskId;
+
+    @Column(name = "user_id", length = 64, nullable = false)
+    private String userId;
+
+    /**
+     * 事件对应的工单版本号，消费方可据此丢弃重复或过期的事件
+     */
+    @Column(name = "task_version")
+    private Long taskVersion;
+
+    /**
+     * 工单内容（JSON），删除事件为空
+     */
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_time", nullable = false)
+    private LocalDateTime createdTime;
+
+    /**
+     * 事件只插入和删除，不会更新，save() 直接INSERT
+     */
+    @Transient
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        newEntity = false;
+    }
+}
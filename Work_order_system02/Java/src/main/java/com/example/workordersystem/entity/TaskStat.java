@@ -0,0 +1,42 @@
+package com.example.workordersystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 用户工单统计实体类
+ * 每个用户按维度（total/status/priority/category）保存计数，由工单写操作在同一事务中增量维护
+ */
+@Entity
+@Table(name = "task_stats")
+@IdClass(TaskStatId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStat {
+
+    public static final String DIMENSION_TOTAL = "total";
+    public static final String DIMENSION_STATUS = "status";
+    public static final String DIMENSION_PRIORITY = "priority";
+    public static final String DIMENSION_CATEGORY = "category";
+
+    @Id
+    @Column(name = "user_id", length = 64)
+    private String userId;
+
+    @Id
+    @Column(name = "dimension", length = 20)
+    private String dimension;
+
+    @Id
+    @Column(name = "dim_value", length = 50)
+    private String dimValue; // 维度取值，total维度和未分类时为空字符串
+
+    @Column(name = "task_count", nullable = false)
+    private Long taskCount = 0L;
+
+    @Column(name = "progress_sum", nullable = false)
+    private Long progressSum = 0L; // 仅total维度使用，用于计算平均进度
+}
@@ -0,0 +1,19 @@
+package com.example.workordersystem.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 工单统计主键
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatId implements Serializable {
+    private String userId;
+    private String dimension;
+    private String dimValue;
+}
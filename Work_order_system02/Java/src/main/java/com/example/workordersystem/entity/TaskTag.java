@@ -0,0 +1,62 @@
+package com.example.workordersystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * 工单标签实体类
+ * 每个标签一行，冗余user_id以便按 (user_id, tag) 索引筛选，由工单写操作在同一事务中维护
+ */
+@Entity
+@Table(name = "task_tags", indexes = {
+    @Index(name = "idx_user_tag", columnList = "user_id, tag, task_id")
+})
+@IdClass(TaskTagId.class)
+@Data
+@NoArgsConstructor
+public class TaskTag implements Persistable<TaskTagId> {
+
+    @Id
+    @Column(name = "task_id", length = 64)
+    private String taskId;
+
+    /**
+     * 标签原文，区分大小写（列排序规则为 utf8mb4_bin，与 {@code TaskMapper.normalizeTags} 的去重规则一致）
+     */
+    @Id
+    @Column(name = "tag", length = 50)
+    private String tag;
+
+    @Column(name = "user_id", length = 64, nullable = false)
+    private String userId;
+
+    /**
+     * 标签行只插入和删除，不会更新，save() 直接INSERT
+     */
+    @Transient
+    private boolean newEntity = true;
+
+    public TaskTag(String taskId, String userId, String tag) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.tag = tag;
+    }
+
+    @Override
+    public TaskTagId getId() {
+        return new TaskTagId(taskId, tag);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        newEntity = false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.workordersystem.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 工单标签主键
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTagId implements Serializable {
+    private String taskId;
+    private String tag;
+}
@@ -0,0 +1,60 @@
+package com.example.workordersystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 工单删除记录（墓碑）
+ * 工单删除时在同一事务中写入，供增量同步接口通知客户端；超过保留期后由定时任务清理
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+    @Index(name = "idx_user_deleted_time", columnList = "user_id, deleted_time, task_id"),
+    @Index(name = "idx_deleted_time", columnList = "deleted_time")
+})
+@Data
+@NoArgsConstructor
+public class TaskTombstone implements Persistable<String> {
+
+    @Id
+    @Column(name = "task_id", length = 64)
+    private String taskId;
+
+    @Column(name = "user_id", length = 64, nullable = false)
+    private String userId;
+
+    @Column(name = "deleted_time", nullable = false)
+    private LocalDateTime deletedTime;
+
+    /**
+     * 墓碑只插入和删除，不会更新，save() 直接INSERT
+     */
+    @Transient
+    private boolean newEntity = true;
+
+    public TaskTombstone(String taskId, String userId, LocalDateTime deletedTime) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.deletedTime = deletedTime;
+    }
+
+    @Override
+    public String getId() {
+        return taskId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        newEntity = false;
+    }
+}
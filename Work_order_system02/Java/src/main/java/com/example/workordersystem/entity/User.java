@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 
@@ -17,7 +18,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class User {
+public class User implements Persistable<String> {
 
     @Id
     @Column(name = "id", length = 64)
@@ -47,6 +48,23 @@ public class User {
     @Column(name = "status", nullable = false)
     private Integer status = 1; // 0:禁用 1:启用
 
+    /**
+     * 是否为新建实体：ID由应用分配，save() 据此直接INSERT而不先按主键查询
+     */
+    @Transient
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        newEntity = false;
+    }
+
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
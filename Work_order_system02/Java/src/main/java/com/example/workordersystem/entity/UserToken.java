@@ -9,18 +9,24 @@ import java.time.LocalDateTime;
 
 /**
  * 用户Token实体类
+ * refresh 行保存刷新Token的SHA-256摘要（不保存明文）；revoked 行保存已注销的访问Token的ID（jti），
+ * 两者都在 expire_time 之后失去作用，由定时任务分批清理
  */
 @Entity
 @Table(name = "user_tokens", indexes = {
     @Index(name = "idx_user_id", columnList = "user_id"),
     @Index(name = "idx_token", columnList = "token"),
-    @Index(name = "idx_expire_time", columnList = "expire_time")
+    @Index(name = "idx_expire_time", columnList = "expire_time"),
+    @Index(name = "idx_type_create_time", columnList = "token_type, create_time")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserToken {
 
+    public static final String TYPE_REFRESH = "refresh";
+    public static final String TYPE_REVOKED = "revoked";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -29,6 +35,9 @@ public class UserToken {
     @Column(name = "user_id", length = 64, nullable = false)
     private String userId;
 
+    @Column(name = "token_type", length = 20, nullable = false)
+    private String tokenType;
+
     @Column(name = "token", length = 500, nullable = false)
     private String token;
 
@@ -0,0 +1,25 @@
+package com.example.workordersystem.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 进程内发布：每个事件作为Spring应用事件发布，通过 {@code @EventListener} 方法接收 {@link TaskEvent}
+ * 监听器在投递线程中同步执行，监听器抛出异常时整批重新发布
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "task.outbox.sink", havingValue = "application", matchIfMissing = true)
+public class ApplicationTaskEventSink implements TaskEventSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public void publish(List<TaskEvent> events) {
+        events.forEach(publisher::publishEvent);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.workordersystem.event;
+
+import com.example.workordersystem.dto.TaskResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * 工单领域事件
+ * 投递语义为至少一次：同一事件可能重复到达，消费方按 eventId 去重或按 (taskId, version) 丢弃旧事件。
+ * task 为事件发生时的工单内容，删除事件为空
+ */
+public record TaskEvent(
+        String eventId,
+        TaskEventType type,
+        String taskId,
+        String userId,
+        Long version,
+        LocalDateTime occurredAt,
+        TaskResponse task
+) {
+}
@@ -0,0 +1,91 @@
+package com.example.workordersystem.event;
+
+import com.example.workordersystem.dto.TaskResponse;
+import com.example.workordersystem.entity.Task;
+import com.example.workordersystem.entity.TaskOutboxEvent;
+import com.example.workordersystem.repository.TaskOutboxRepository;
+import com.example.workordersystem.service.TaskMapper;
+import com.example.workordersystem.util.IdGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 工单事件发件箱写入
+ * 必须在工单写操作的事务中调用：事件与工单修改一起提交或一起回滚，由 {@link TaskOutboxRelay} 异步发布
+ */
+@Component
+public class TaskEventOutbox {
+
+    private final TaskOutboxRepository taskOutboxRepository;
+    private final TaskMapper taskMapper;
+    private final ObjectWriter payloadWriter;
+
+    public TaskEventOutbox(TaskOutboxRepository taskOutboxRepository, TaskMapper taskMapper, ObjectMapper objectMapper) {
+        this.taskOutboxRepository = taskOutboxRepository;
+        this.taskMapper = taskMapper;
+        this.payloadWriter = objectMapper.writerFor(TaskResponse.class);
+    }
+
+    /**
+     * 记录新建事件
+     */
+    public void created(Collection<Task> tasks) {
+        append(TaskEventType.TASK_CREATED, tasks);
+    }
+
+    /**
+     * 记录修改事件（工单须已刷新到数据库，事件中的版本号为修改后的版本）
+     */
+    public void updated(Collection<Task> tasks) {
+        append(TaskEventType.TASK_UPDATED, tasks);
+    }
+
+    /**
+     * 记录删除事件
+     */
+    public void deleted(Collection<Task> tasks) {
+        append(TaskEventType.TASK_DELETED, tasks);
+    }
+
+    /**
+     * 记录逾期事件
+     */
+    public void overdue(Collection<Task> tasks) {
+        append(TaskEventType.TASK_OVERDUE, tasks);
+    }
+
+    private void append(TaskEventType type, Collection<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskOutboxEvent> events = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            TaskOutboxEvent event = new TaskOutboxEvent();
+            event.setId(IdGenerator.nextId());
+            event.setEventType(type.name());
+            event.setTaskId(task.getId());
+            event.setUserId(task.getUserId());
+            event.setTaskVersion(task.getVersion());
+            event.setPayload(type == TaskEventType.TASK_DELETED ? null : writePayload(task));
+            event.setCreatedTime(now);
+            events.add(event);
+        }
+        taskOutboxRepository.saveAll(events);
+    }
+
+    private String writePayload(Task task) {
+        try {
+            return payloadWriter.writeValueAsString(taskMapper.toResponse(task));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("工单事件序列化失败: " + task.getId(), e);
+        }
+    }
+}
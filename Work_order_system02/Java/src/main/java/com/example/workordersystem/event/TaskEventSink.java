@@ -0,0 +1,16 @@
+package com.example.workordersystem.event;
+
+import java.util.List;
+
+/**
+ * 工单事件的发布目标
+ * 默认实现发布为Spring应用事件；接入消息队列时实现此接口并注册为Bean，同时设置 task.outbox.sink 为其他值关闭默认实现
+ */
+public interface TaskEventSink {
+
+    /**
+     * 按顺序发布一批事件
+     * 正常返回表示整批已送达，事件随即从发件箱删除；抛出异常时整批保留，下次按原顺序重新发布
+     */
+    void publish(List<TaskEvent> events) throws Exception;
+}
@@ -0,0 +1,14 @@
+package com.example.workordersystem.event;
+
+/**
+ * 工单事件类型
+ */
+public enum TaskEventType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_DELETED,
+    /**
+     * 未完成的工单到达截止日期（由逾期检测产生，工单内容不变、版本号不变）
+     */
+    TASK_OVERDUE
+}
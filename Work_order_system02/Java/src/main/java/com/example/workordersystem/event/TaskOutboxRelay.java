@@ -0,0 +1,163 @@
+package com.example.workordersystem.event;
+
+import com.example.workordersystem.dto.TaskResponse;
+import com.example.workordersystem.entity.TaskOutboxEvent;
+import com.example.workordersystem.repository.TaskOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 工单事件投递
+ * 定时在一个事务中锁定最早的一批事件（按ID顺序），发布到 {@link TaskEventSink} 后删除并提交。
+ * 发布失败时事务回滚，事件留在发件箱中按原顺序重试，后面的事件不会越过它（至少一次、同一工单有序）；
+ * 发布成功但提交失败时下次会重复发布，消费方需按 eventId 或 (taskId, version) 去重
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "task.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+public class TaskOutboxRelay {
+
+    private final TaskOutboxRepository taskOutboxRepository;
+    private final TaskEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader payloadReader;
+
+    @Value("${task.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${task.outbox.max-batches-per-poll:10}")
+    private int maxBatchesPerPoll;
+
+    /**
+     * 保证同一节点内同一时间只有一次投递
+     */
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    /**
+     * 最近一次读取时最早的待发布事件的写入时间，发件箱为空时为null
+     */
+    private volatile LocalDateTime oldestPending;
+
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong totalDelayNanos = new AtomicLong();
+    private final AtomicLong maxDelayNanos = new AtomicLong();
+
+    public TaskOutboxRelay(TaskOutboxRepository taskOutboxRepository, TaskEventSink sink,
+                           TransactionTemplate transactionTemplate, ObjectMapper objectMapper) {
+        this.taskOutboxRepository = taskOutboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.payloadReader = objectMapper.readerFor(TaskResponse.class);
+    }
+
+    /**
+     * 投递待发布的事件，每次最多 max-batches-per-poll 批；某一批失败时停止，等待下次重试
+     */
+    @Scheduled(fixedDelayString = "${task.outbox.poll-interval:500}")
+    public void relay() {
+        if (!relayLock.tryLock()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                Integer published = transactionTemplate.execute(status -> publishBatch());
+                if (published == null || published < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            failureCount.incrementAndGet();
+            log.warn("发布工单事件失败，将在下次重试: {}", e.getMessage());
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    private int publishBatch() {
+        List<TaskOutboxEvent> batch = taskOutboxRepository.lockOldest(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            oldestPending = null;
+            return 0;
+        }
+        oldestPending = batch.get(0).getCreatedTime();
+
+        List<TaskEvent> events = new ArrayList<>(batch.size());
+        for (TaskOutboxEvent row : batch) {
+            events.add(toEvent(row));
+        }
+        try {
+            sink.publish(events);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        taskOutboxRepository.deleteAllInBatch(batch);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (TaskOutboxEvent row : batch) {
+            long delay = Duration.between(row.getCreatedTime(), now).toNanos();
+            totalDelayNanos.addAndGet(delay);
+            maxDelayNanos.accumulateAndGet(delay, Math::max);
+        }
+        publishedCount.addAndGet(batch.size());
+        log.debug("已发布 {} 个工单事件", batch.size());
+        return batch.size();
+    }
+
+    private TaskEvent toEvent(TaskOutboxEvent row) {
+        TaskResponse task = null;
+        if (row.getPayload() != null) {
+            try {
+                task = payloadReader.readValue(row.getPayload());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("工单事件解析失败: " + row.getId(), e);
+            }
+        }
+        return new TaskEvent(row.getId(), TaskEventType.valueOf(row.getEventType()), row.getTaskId(),
+                row.getUserId(), row.getTaskVersion(), row.getCreatedTime(), task);
+    }
+
+    /**
+     * 投递延迟：最早的待发布事件已等待的秒数，发件箱为空时为0
+     */
+    public double getLagSeconds() {
+        LocalDateTime oldest = oldestPending;
+        return oldest == null ? 0 : Math.max(Duration.between(oldest, LocalDateTime.now()).toNanos() / 1e9, 0);
+    }
+
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * 已发布事件从写入到发布的累计耗时
+     */
+    public long getTotalDelayNanos() {
+        return totalDelayNanos.get();
+    }
+
+    public long getMaxDelayNanos() {
+        return maxDelayNanos.get();
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.workordersystem.event;
+
+import com.example.workordersystem.common.ServiceBusyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 工单变更推送（Server-Sent Events）连接登记
+ * 连接以异步请求保持，空闲时不占用线程；收到 {@link TaskEvent} 时只把消息放入该用户各连接的有界队列，
+ * 有待发送消息的连接各自在一个发送任务中写出（启用虚拟线程时每个任务一个虚拟线程，否则在固定大小的线程池中执行），
+ * 个别连接写出阻塞不影响其他连接。队列已满或单次写出超过 write-timeout 的连接（客户端读取过慢或网络中断）直接断开，
+ * 客户端重连后通过增量同步补齐。定时发送心跳，及时发现已断开和写出停滞的连接
+ */
+@Slf4j
+@Component
+public class TaskStreamRegistry {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${task.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${task.stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${task.stream.max-connections:20000}")
+    private int maxConnections;
+
+    @Value("${task.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${task.stream.write-timeout:10s}")
+    private Duration writeTimeout;
+
+    /**
+     * 未启用虚拟线程时发送线程池的大小
+     */
+    @Value("${task.stream.sender-threads:16}")
+    private int senderThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<String, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final AtomicLong connectionSequence = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private Executor sender;
+
+    public TaskStreamRegistry(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("task-stream-");
+            executor.setVirtualThreads(true);
+            sender = executor;
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(set -> set.forEach(connection -> close(connection, "服务关闭")));
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        } else if (sender instanceof SimpleAsyncTaskExecutor executor) {
+            executor.close();
+        }
+    }
+
+    /**
+     * 为用户打开一个推送连接，连接建立后先发送 ready 事件
+     * 同一用户的连接数达到上限时关闭其最早的连接；总连接数达到上限时返回503
+     */
+    public SseEmitter open(String userId) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new ServiceBusyException("推送连接数已满，请稍后重试", 30);
+        }
+        Connection connection = new Connection(connectionSequence.incrementAndGet(), userId,
+                new SseEmitter(timeout.toMillis()), bufferSize);
+        Set<Connection> userConnections = connections.compute(userId, (key, set) -> {
+            Set<Connection> result = set != null ? set : ConcurrentHashMap.<Connection>newKeySet();
+            result.add(connection);
+            return result;
+        });
+        if (userConnections.size() > maxConnectionsPerUser) {
+            userConnections.stream()
+                    .min(Comparator.comparingLong(c -> c.sequence))
+                    .ifPresent(oldest -> close(oldest, "同一用户连接数超出上限"));
+        }
+
+        connection.emitter.onCompletion(() -> remove(connection));
+        // 到期时正常结束响应，客户端随即重连
+        connection.emitter.onTimeout(() -> {
+            remove(connection);
+            connection.emitter.complete();
+        });
+        connection.emitter.onError(error -> remove(connection));
+        deliver(connection, message("ready", "{}"));
+        return connection.emitter;
+    }
+
+    /**
+     * 工单事件推送给该用户的所有连接
+     * 只推送事件类型、工单ID和版本号，客户端据此通过增量同步接口拉取内容
+     */
+    @EventListener
+    public void onTaskEvent(TaskEvent event) {
+        Set<Connection> userConnections = connections.get(event.userId());
+        if (userConnections == null || userConnections.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(Map.of(
+                    "type", event.type().name(),
+                    "taskId", event.taskId(),
+                    "version", event.version() != null ? event.version() : -1));
+        } catch (JsonProcessingException e) {
+            log.warn("工单推送消息序列化失败: {}", e.getMessage());
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> message = message("task", json);
+        userConnections.forEach(connection -> deliver(connection, message));
+    }
+
+    /**
+     * 心跳（SSE注释行），保持经过代理的空闲连接，并清理已断开的连接
+     */
+    @Scheduled(fixedDelayString = "${task.stream.heartbeat-interval:25000}")
+    public void heartbeat() {
+        if (connectionCount.get() == 0) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        connections.values().forEach(set -> set.forEach(connection -> deliver(connection, ping)));
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * 因队列已满、写出超时或超出单用户连接上限被断开的连接数
+     */
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    private static Set<ResponseBodyEmitter.DataWithMediaType> message(String name, String json) {
+        return SseEmitter.event().name(name).data(json).build();
+    }
+
+    /**
+     * 放入连接的发送队列（不阻塞），并在没有发送任务时提交一个
+     */
+    private void deliver(Connection connection, Set<ResponseBodyEmitter.DataWithMediaType> message) {
+        if (connection.closed.get()) {
+            return;
+        }
+        long writeStartedAt = connection.writeStartedAt;
+        if (writeStartedAt != 0 && System.nanoTime() - writeStartedAt > writeTimeout.toNanos()) {
+            close(connection, "写出超时");
+            return;
+        }
+        if (!connection.queue.offer(message)) {
+            close(connection, "发送队列已满");
+            return;
+        }
+        if (connection.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(connection));
+        }
+    }
+
+    /**
+     * 依次写出队列中的消息；写出失败说明连接已断开。连接被断开时由正在写出的任务结束响应
+     */
+    private void drain(Connection connection) {
+        while (true) {
+            if (connection.closed.get()) {
+                finish(connection);
+                return;
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> message = connection.queue.poll();
+            if (message == null) {
+                connection.draining.set(false);
+                // 释放标记后若又有消息入队且没有其他发送任务接手，继续写出
+                if (connection.queue.isEmpty() || !connection.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            connection.writeStartedAt = System.nanoTime();
+            try {
+                connection.emitter.send(message);
+            } catch (IOException | IllegalStateException e) {
+                remove(connection);
+                connection.queue.clear();
+                return;
+            } finally {
+                connection.writeStartedAt = 0;
+            }
+        }
+    }
+
+    /**
+     * 主动断开连接：不再接收消息，没有写出中的任务时立即结束响应，否则由该任务在当前写出返回后结束
+     * （写出中调用 complete 会等待写出完成，不能在投递事件的线程上执行）
+     */
+    private void close(Connection connection, String reason) {
+        if (connection.closed.get()) {
+            return;
+        }
+        // 先于 closed 设置，写出任务看到 closed 时一定也能看到 evicted
+        connection.evicted = true;
+        if (connection.closed.compareAndSet(false, true)) {
+            evictedCount.incrementAndGet();
+            log.debug("断开工单推送连接: 用户 {}，{}", connection.userId, reason);
+            unregister(connection);
+            connection.queue.clear();
+            if (connection.draining.compareAndSet(false, true)) {
+                finish(connection);
+            }
+        }
+    }
+
+    /**
+     * 结束被主动断开的连接的响应（客户端已断开的连接无需处理）
+     */
+    private void finish(Connection connection) {
+        connection.queue.clear();
+        if (!connection.evicted) {
+            return;
+        }
+        try {
+            connection.emitter.complete();
+        } catch (IllegalStateException e) {
+            // 响应已结束
+        }
+    }
+
+    private void remove(Connection connection) {
+        if (connection.closed.compareAndSet(false, true)) {
+            unregister(connection);
+        }
+    }
+
+    private void unregister(Connection connection) {
+        connectionCount.decrementAndGet();
+        connections.computeIfPresent(connection.userId, (userId, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * 单个推送连接：发送队列有界，draining 标记保证同一时间只有一个任务写出，
+     * writeStartedAt 为当前写出开始的时间（System.nanoTime），没有写出时为0
+     */
+    private static final class Connection {
+        private final long sequence;
+        private final String userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long writeStartedAt;
+        private volatile boolean evicted;
+
+        private Connection(long sequence, String userId, SseEmitter emitter, int bufferSize) {
+            this.sequence = sequence;
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
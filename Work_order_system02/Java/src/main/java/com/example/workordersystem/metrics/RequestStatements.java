@@ -0,0 +1,85 @@
+package com.example.workordersystem.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 单个请求内的SQL语句统计
+ * 除总数外按SQL文本统计SELECT的执行次数：同一条带占位符的查询反复执行，通常是循环中逐条加载关联数据（N+1）
+ */
+public class RequestStatements {
+
+    private final int budget;
+    private final int repeatThreshold;
+    private final boolean failFast;
+
+    private int count;
+    private Map<String, Integer> selects;
+    private int maxRepeat;
+    private String repeatedSql;
+
+    /**
+     * @param budget          语句数上限，0表示不限制
+     * @param repeatThreshold 同一SELECT执行达到该次数时视为N+1，0表示不检测
+     * @param failFast        超出时是否立即抛出 {@link SqlBudgetExceededException}
+     */
+    public RequestStatements(int budget, int repeatThreshold, boolean failFast) {
+        this.budget = budget;
+        this.repeatThreshold = repeatThreshold;
+        this.failFast = failFast;
+    }
+
+    void record(String sql) {
+        count++;
+        if (failFast && isOverBudget()) {
+            throw new SqlBudgetExceededException("SQL语句数超出预算（" + budget + "条）: " + sql);
+        }
+        if (repeatThreshold <= 0 || !isSelect(sql)) {
+            return;
+        }
+        if (selects == null) {
+            selects = new HashMap<>();
+        }
+        int repeat = selects.merge(sql, 1, Integer::sum);
+        if (repeat > maxRepeat) {
+            maxRepeat = repeat;
+            if (repeat >= repeatThreshold && repeatedSql == null) {
+                repeatedSql = sql;
+                if (failFast) {
+                    throw new SqlBudgetExceededException("疑似N+1查询，同一查询执行了" + repeat + "次: " + sql);
+                }
+            }
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        String trimmed = sql.stripLeading();
+        return trimmed.regionMatches(true, 0, "select", 0, 6) || trimmed.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public boolean isOverBudget() {
+        return budget > 0 && count > budget;
+    }
+
+    /**
+     * 执行次数最多的SELECT的次数
+     */
+    public int getMaxRepeat() {
+        return maxRepeat;
+    }
+
+    /**
+     * 首个达到N+1阈值的查询，未出现时为null
+     */
+    public String getRepeatedSql() {
+        return repeatedSql;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.workordersystem.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明接口单次请求允许执行的SQL语句数
+ * 可标注在控制器方法或控制器类上（方法优先），未声明时使用 sql-budget.default-limit；
+ * 超出时按 sql-budget.mode 记录警告或让请求失败，见 {@link StatementMetricsInterceptor}
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+
+    /**
+     * 语句数上限，0表示不限制
+     */
+    int value();
+}
@@ -0,0 +1,11 @@
+package com.example.workordersystem.metrics;
+
+/**
+ * 严格模式下请求执行的SQL语句超出预算或出现N+1查询时抛出
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
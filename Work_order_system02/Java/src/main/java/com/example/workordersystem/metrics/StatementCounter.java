@@ -0,0 +1,40 @@
+package com.example.workordersystem.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * 统计当前请求中Hibernate准备执行的SQL语句
+ * 以 {@link StatementInspector} 注册到Hibernate（见 MetricsConfig），统计按线程隔离，
+ * 只在 {@link #begin} 与 {@link #end()} 之间累计；JDBC批量写入中同一条语句只计一次
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 开始统计（请求开始时调用）
+     */
+    public void begin(RequestStatements statements) {
+        CURRENT.set(statements);
+    }
+
+    /**
+     * 结束统计并返回结果，未开始时返回null
+     */
+    public RequestStatements end() {
+        RequestStatements statements = CURRENT.get();
+        CURRENT.remove();
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.record(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.workordersystem.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 记录每个请求执行的SQL语句数，并按 {@link SqlBudget} 检查预算和N+1查询
+ * <ul>
+ *   <li>指标 http.server.sql.statements：每个请求的语句数分布（按 method、uri 区分，uri 取路由模板）</li>
+ *   <li>指标 http.server.sql.budget.exceeded：超出预算（reason=budget）或疑似N+1（reason=repeated）的请求数</li>
+ * </ul>
+ * sql-budget.mode 为 log 时记录警告；为 strict 时在超出的那条语句处抛出 {@link SqlBudgetExceededException}，
+ * 请求失败且堆栈指向触发查询的代码，用于测试和压测；为 off 时只记录语句数。
+ * 异步请求（如推送连接）只统计首次处理的语句，统计在处理线程释放前结束，不会残留到该线程处理的下一个请求
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatementMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String METRIC_NAME = "http.server.sql.statements";
+    public static final String EXCEEDED_METRIC_NAME = "http.server.sql.budget.exceeded";
+
+    private enum Mode { OFF, LOG, STRICT }
+
+    private final StatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Integer> budgets = new ConcurrentHashMap<>();
+    private Mode mode;
+
+    @Value("${sql-budget.mode:log}")
+    private String modeName;
+
+    @Value("${sql-budget.default-limit:10}")
+    private int defaultLimit;
+
+    @Value("${sql-budget.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @PostConstruct
+    public void init() {
+        mode = Mode.valueOf(modeName.trim().toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (mode == Mode.OFF) {
+            statementCounter.begin(new RequestStatements(0, 0, false));
+        } else {
+            statementCounter.begin(new RequestStatements(budget(handler), repeatThreshold, mode == Mode.STRICT));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        afterCompletion(request, response, handler, null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestStatements statements = statementCounter.end();
+        if (statements == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(METRIC_NAME)
+                .description("每个请求执行的SQL语句数")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements.getCount());
+
+        if (statements.isOverBudget()) {
+            log.warn("SQL语句数超出预算: {} {} 执行了{}条，预算{}条", request.getMethod(), uri,
+                    statements.getCount(), statements.getBudget());
+            exceeded(request.getMethod(), uri, "budget");
+        }
+        if (statements.getRepeatedSql() != null) {
+            log.warn("疑似N+1查询: {} {} 中同一查询执行了{}次: {}", request.getMethod(), uri,
+                    statements.getMaxRepeat(), statements.getRepeatedSql());
+            exceeded(request.getMethod(), uri, "repeated");
+        }
+    }
+
+    private void exceeded(String method, String uri, String reason) {
+        Counter.builder(EXCEEDED_METRIC_NAME)
+                .description("SQL语句数超出预算或疑似N+1的请求数")
+                .tag("method", method)
+                .tag("uri", uri)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 方法上的 @SqlBudget 优先于控制器类上的，均未声明时使用默认预算
+     */
+    private int budget(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return defaultLimit;
+        }
+        return budgets.computeIfAbsent(handlerMethod.getMethod(), method -> {
+            SqlBudget budget = AnnotatedElementUtils.findMergedAnnotation(method, SqlBudget.class);
+            if (budget == null) {
+                budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), SqlBudget.class);
+            }
+            return budget != null ? budget.value() : defaultLimit;
+        });
+    }
+}
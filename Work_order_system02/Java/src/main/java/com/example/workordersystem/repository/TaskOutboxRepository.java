@@ -0,0 +1,26 @@
+package com.example.workordersystem.repository;
+
+import com.example.workordersystem.entity.TaskOutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 工单事件发件箱数据访问层
+ */
+@Repository
+public interface TaskOutboxRepository extends JpaRepository<TaskOutboxEvent, String> {
+
+    /**
+     * 按ID顺序锁定最早的一批待发布事件（SELECT ... FOR UPDATE）
+     * 多个节点同时投递时后到者等待锁释放，事件不会被并发发布，同一工单的事件保持顺序
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM TaskOutboxEvent e ORDER BY e.id ASC")
+    List<TaskOutboxEvent> lockOldest(Pageable pageable);
+}
@@ -4,44 +4,154 @@ import com.example.workordersystem.entity.Task;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * 工单数据访问层
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, String> {
+public interface TaskRepository extends JpaRepository<Task, String>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
 
     /**
-     * 根据用户ID查找工单列表（分页）
+     * 根据用户ID查找工单列表投影（分页）
      */
-    Page<Task> findByUserId(String userId, Pageable pageable);
+    @Query(value = TaskSummary.SELECT + " WHERE t.userId = :userId",
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.userId = :userId")
+    Page<TaskSummary> findSummariesByUserId(@Param("userId") String userId, Pageable pageable);
 
     /**
-     * 根据用户ID和状态查找工单列表
+     * 游标分页：第一页（按创建日期、ID倒序，不统计总数）
      */
-    List<Task> findByUserIdAndStatus(String userId, String status);
+    @Query(TaskSummary.SELECT + " WHERE t.userId = :userId ORDER BY t.createDate DESC, t.id DESC")
+    List<TaskSummary> findFirstPageByUserId(@Param("userId") String userId, Pageable pageable);
 
     /**
-     * 根据用户ID和优先级查找工单列表
+     * 游标分页：获取游标 (createDate, id) 之后的一页
      */
-    List<Task> findByUserIdAndPriority(String userId, String priority);
+    @Query(TaskSummary.SELECT + " WHERE t.userId = :userId"
+            + " AND (t.createDate < :createDate OR (t.createDate = :createDate AND t.id < :id))"
+            + " ORDER BY t.createDate DESC, t.id DESC")
+    List<TaskSummary> findPageByUserIdAfter(
+            @Param("userId") String userId,
+            @Param("createDate") LocalDateTime createDate,
+            @Param("id") String id,
+            Pageable pageable
+    );
 
     /**
-     * 根据用户ID查找指定日期范围内的工单
+     * 增量同步：游标 (updateTime, id) 之后、upper 之前新建或修改的工单（使用 user_id + update_time 索引）
+     * 每行为 [列表投影, updateTime]，updateTime 用于生成下一个游标
      */
-    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.createDate BETWEEN :startDate AND :endDate")
-    List<Task> findByUserIdAndDateRange(
+    @Query(TaskSummary.SELECT_WITH_UPDATE_TIME + " WHERE t.userId = :userId"
+            + " AND (t.updateTime > :time OR (t.updateTime = :time AND t.id > :id))"
+            + " AND t.updateTime < :upper"
+            + " ORDER BY t.updateTime ASC, t.id ASC")
+    List<Object[]> findChangesAfter(
             @Param("userId") String userId,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate
+            @Param("time") LocalDateTime time,
+            @Param("id") String id,
+            @Param("upper") LocalDateTime upper,
+            Pageable pageable
     );
 
+    /**
+     * 按ID获取用户的工单列表投影（全文检索命中后加载列表项，顺序由调用方按相关度排列）
+     */
+    @Query(TaskSummary.SELECT + " WHERE t.userId = :userId AND t.id IN :ids")
+    List<TaskSummary> findSummariesByUserIdAndIdIn(@Param("userId") String userId, @Param("ids") Collection<String> ids);
+
+    /**
+     * 重建全文索引：按ID顺序分批读取ID大于 id 的工单
+     */
+    @Query(TaskSearchDocument.SELECT + " WHERE t.id > :id ORDER BY t.id ASC")
+    List<TaskSearchDocument> findSearchDocumentsAfter(@Param("id") String id, Pageable pageable);
+
+    /**
+     * 逾期检测：按 (due_date, id) 顺序分批读取指定状态、尚未标记逾期、截止日期在游标之后且早于 until 的工单
+     * 使用 status + overdue_time + due_date 索引，每行为 [id, dueDate]
+     */
+    @Query("SELECT t.id, t.dueDate FROM Task t WHERE t.status = :status AND t.overdueTime IS NULL"
+            + " AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id))"
+            + " AND t.dueDate < :until"
+            + " ORDER BY t.dueDate ASC, t.id ASC")
+    List<Object[]> findDueDatesAfter(
+            @Param("status") String status,
+            @Param("dueDate") LocalDateTime dueDate,
+            @Param("id") String id,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
+
+    /**
+     * 将已到截止日期、状态未完成且尚未标记的工单标记为逾期（条件更新，多节点同时执行时每个工单只会被标记一次）
+     * 同时递增版本号并更新修改时间：工单详情的ETag随之变化，增量同步也会返回该工单
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.overdueTime = :now, t.version = t.version + 1, t.updateTime = :now WHERE t.id IN :ids AND t.status IN :statuses"
+            + " AND t.overdueTime IS NULL AND t.dueDate <= :now")
+    int markOverdue(@Param("ids") Collection<String> ids, @Param("statuses") Collection<String> statuses,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * 获取工单当前的版本号，工单不存在时返回null
+     */
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id")
+    Long findVersionById(@Param("id") String id);
+
+    /**
+     * 获取本次标记为逾期的工单
+     */
+    List<Task> findByIdInAndOverdueTime(Collection<String> ids, LocalDateTime overdueTime);
+
+    /**
+     * 批量获取用户的工单（一次IN查询完成归属校验）
+     */
+    List<Task> findByUserIdAndIdIn(String userId, Collection<String> ids);
+
+    /**
+     * 批量删除用户的工单（单条DELETE语句）
+     */
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.userId = :userId AND t.id IN :ids")
+    int deleteByUserIdAndIdIn(@Param("userId") String userId, @Param("ids") Collection<String> ids);
+
+    /**
+     * 统计用户已逾期且未完成的工单数量（使用 user_id + due_date 索引）
+     */
+    long countByUserIdAndDueDateBeforeAndStatusIn(String userId, LocalDateTime now, Collection<String> statuses);
+
+    /**
+     * 统计用户工单总数及进度总和（用于重建统计数据）
+     */
+    @Query("SELECT COUNT(t), COALESCE(SUM(t.progressValue), 0) FROM Task t WHERE t.userId = :userId")
+    List<Object[]> sumProgressByUserId(@Param("userId") String userId);
+
+    /**
+     * 按状态分组统计（用于重建统计数据）
+     */
+    @Query("SELECT t.status, COUNT(t) FROM Task t WHERE t.userId = :userId GROUP BY t.status")
+    List<Object[]> countGroupByStatus(@Param("userId") String userId);
+
+    /**
+     * 按优先级分组统计（用于重建统计数据）
+     */
+    @Query("SELECT t.priority, COUNT(t) FROM Task t WHERE t.userId = :userId GROUP BY t.priority")
+    List<Object[]> countGroupByPriority(@Param("userId") String userId);
+
+    /**
+     * 按分类分组统计（用于重建统计数据）
+     */
+    @Query("SELECT t.category, COUNT(t) FROM Task t WHERE t.userId = :userId GROUP BY t.category")
+    List<Object[]> countGroupByCategory(@Param("userId") String userId);
+
     /**
      * 统计用户工单数量
      */
@@ -0,0 +1,18 @@
+package com.example.workordersystem.repository;
+
+import com.example.workordersystem.entity.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * 工单数据访问层扩展（动态条件的投影查询）
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * 按动态条件查询列表投影
+     */
+    List<TaskSummary> findSummaries(Specification<Task> spec, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,63 @@
+package com.example.workordersystem.repository;
+
+import com.example.workordersystem.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 工单数据访问层扩展实现
+ */
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskSummary> findSummaries(Specification<Task> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.construct(TaskSummary.class,
+                root.get("id"), root.get("taskName"), root.get("progressValue"), root.get("status"),
+                root.get("priority"), root.get("createDate"), root.get("updateDate"), root.get("dueDate"),
+                root.get("assignee"), root.get("category"), root.get("tags"), root.get("version")));
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 排序条件转换为查询排序；优先级按 low < medium < high < urgent 的级别排序而不是按字符串排序
+     */
+    private static List<Order> toOrders(Sort sort, Root<Task> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if ("priority".equals(order.getProperty())) {
+                Expression<Integer> level = cb.<String, Integer>selectCase(root.get("priority"))
+                        .when("low", 1)
+                        .when("medium", 2)
+                        .when("high", 3)
+                        .when("urgent", 4)
+                        .otherwise(0);
+                orders.add(order.isAscending() ? cb.asc(level) : cb.desc(level));
+            } else {
+                orders.addAll(QueryUtils.toOrders(Sort.by(order), root, cb));
+            }
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.workordersystem.repository;
+
+/**
+ * 全文索引投影：只查询建索引所需的列，供启动时重建索引
+ */
+public record TaskSearchDocument(
+        String id,
+        String userId,
+        String taskName,
+        String description,
+        String category,
+        String tags
+) {
+
+    /**
+     * JPQL构造表达式
+     */
+    static final String SELECT = "SELECT new com.example.workordersystem.repository.TaskSearchDocument("
+            + "t.id, t.userId, t.taskName, t.description, t.category, t.tags) FROM Task t";
+}
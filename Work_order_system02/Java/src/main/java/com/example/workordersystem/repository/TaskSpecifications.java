@@ -0,0 +1,64 @@
+package com.example.workordersystem.repository;
+
+import com.example.workordersystem.dto.TaskFilterRequest;
+import com.example.workordersystem.entity.Task;
+import com.example.workordersystem.entity.TaskTag;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 工单查询条件
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * 按用户及可选筛选条件构建查询，user_id 始终作为第一个条件以命中复合索引
+     */
+    public static Specification<Task> matching(String userId, TaskFilterRequest filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("userId"), userId));
+            if (hasText(filter.getStatus())) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (hasText(filter.getPriority())) {
+                predicates.add(cb.equal(root.get("priority"), filter.getPriority()));
+            }
+            if (hasText(filter.getCategory())) {
+                predicates.add(cb.equal(root.get("category"), filter.getCategory()));
+            }
+            if (hasText(filter.getAssignee())) {
+                predicates.add(cb.equal(root.get("assignee"), filter.getAssignee()));
+            }
+            if (hasText(filter.getTag())) {
+                // EXISTS子查询走 task_tags(user_id, tag, task_id) 索引，不解析JSON
+                Subquery<String> tagged = query.subquery(String.class);
+                Root<TaskTag> tag = tagged.from(TaskTag.class);
+                tagged.select(tag.get("taskId")).where(
+                        cb.equal(tag.get("userId"), userId),
+                        cb.equal(tag.get("tag"), filter.getTag().trim()),
+                        cb.equal(tag.get("taskId"), root.get("id")));
+                predicates.add(cb.exists(tagged));
+            }
+            if (filter.getDueFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), filter.getDueFrom()));
+            }
+            if (filter.getDueTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dueDate"), filter.getDueTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
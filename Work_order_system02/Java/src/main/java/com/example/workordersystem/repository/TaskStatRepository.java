@@ -0,0 +1,46 @@
+package com.example.workordersystem.repository;
+
+import com.example.workordersystem.entity.TaskStat;
+import com.example.workordersystem.entity.TaskStatId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 工单统计数据访问层
+ */
+@Repository
+public interface TaskStatRepository extends JpaRepository<TaskStat, TaskStatId> {
+
+    /**
+     * 获取用户的全部统计行
+     */
+    List<TaskStat> findByUserId(String userId);
+
+    /**
+     * 增量更新统计行（不存在时插入）
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_stats (user_id, dimension, dim_value, task_count, progress_sum)"
+            + " VALUES (:userId, :dimension, :dimValue, :countDelta, :progressDelta)"
+            + " ON DUPLICATE KEY UPDATE task_count = task_count + :countDelta, progress_sum = progress_sum + :progressDelta",
+            nativeQuery = true)
+    void increment(
+            @Param("userId") String userId,
+            @Param("dimension") String dimension,
+            @Param("dimValue") String dimValue,
+            @Param("countDelta") long countDelta,
+            @Param("progressDelta") long progressDelta
+    );
+
+    /**
+     * 删除用户的全部统计行
+     */
+    @Modifying
+    @Query("DELETE FROM TaskStat s WHERE s.userId = :userId")
+    void deleteByUserId(@Param("userId") String userId);
+}
@@ -0,0 +1,37 @@
+package com.example.workordersystem.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 工单列表投影
+ * 只查询列表展示所需的列，不读取TEXT类型的description，也不加载实体和User关联
+ */
+public record TaskSummary(
+        String id,
+        String taskName,
+        Integer progressValue,
+        String status,
+        String priority,
+        LocalDateTime createDate,
+        LocalDateTime updateDate,
+        LocalDateTime dueDate,
+        String assignee,
+        String category,
+        String tags,
+        Long version
+) {
+
+    /**
+     * JPQL构造表达式，供列表查询复用
+     */
+    static final String SELECT = "SELECT new com.example.workordersystem.repository.TaskSummary("
+            + "t.id, t.taskName, t.progressValue, t.status, t.priority, t.createDate, t.updateDate,"
+            + " t.dueDate, t.assignee, t.category, t.tags, t.version) FROM Task t";
+
+    /**
+     * 附带 update_time 的构造表达式，供增量同步查询生成游标
+     */
+    static final String SELECT_WITH_UPDATE_TIME = "SELECT new com.example.workordersystem.repository.TaskSummary("
+            + "t.id, t.taskName, t.progressValue, t.status, t.priority, t.createDate, t.updateDate,"
+            + " t.dueDate, t.assignee, t.category, t.tags, t.version), t.updateTime FROM Task t";
+}
@@ -0,0 +1,25 @@
+package com.example.workordersystem.repository;
+
+import com.example.workordersystem.entity.TaskTag;
+import com.example.workordersystem.entity.TaskTagId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * 工单标签数据访问层
+ */
+@Repository
+public interface TaskTagRepository extends JpaRepository<TaskTag, TaskTagId> {
+
+    /**
+     * 删除指定工单的全部标签
+     */
+    @Modifying
+    @Query("DELETE FROM TaskTag t WHERE t.taskId IN :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<String> taskIds);
+}
@@ -0,0 +1,43 @@
+package com.example.workordersystem.repository;
+
+import com.example.workordersystem.entity.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 工单删除记录数据访问层
+ */
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, String> {
+
+    /**
+     * 增量同步：游标 (deletedTime, taskId) 之后、upper 之前的删除记录
+     */
+    @Query("SELECT t FROM TaskTombstone t WHERE t.userId = :userId"
+            + " AND (t.deletedTime > :time OR (t.deletedTime = :time AND t.taskId > :id))"
+            + " AND t.deletedTime < :upper"
+            + " ORDER BY t.deletedTime ASC, t.taskId ASC")
+    List<TaskTombstone> findChangesAfter(
+            @Param("userId") String userId,
+            @Param("time") LocalDateTime time,
+            @Param("id") String id,
+            @Param("upper") LocalDateTime upper,
+            Pageable pageable
+    );
+
+    /**
+     * 分批清理过期的删除记录，返回本批删除的行数
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM task_tombstones WHERE deleted_time < :before LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
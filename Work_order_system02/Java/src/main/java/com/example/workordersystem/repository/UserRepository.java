@@ -2,7 +2,11 @@ package com.example.workordersystem.repository;
 
 import com.example.workordersystem.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -36,5 +40,16 @@ public interface UserRepository extends JpaRepository<User, String> {
      * 检查手机号是否存在
      */
     boolean existsByPhone(String phone);
-}
 
+    /**
+     * 替换密码哈希（仅当密码未被修改时生效）
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePasswordIfUnchanged(
+            @Param("id") String id,
+            @Param("oldPassword") String oldPassword,
+            @Param("newPassword") String newPassword
+    );
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -27,11 +28,29 @@ public interface UserTokenRepository extends JpaRepository<UserToken, Long> {
     java.util.List<UserToken> findByUserId(String userId);
 
     /**
-     * 删除过期的Token
+     * 按类型和Token值查找（refresh 为摘要，revoked 为jti）
      */
+    Optional<UserToken> findByTokenTypeAndToken(String tokenType, String token);
+
+    /**
+     * 获取指定时间之后写入的指定类型的Token（使用 token_type + create_time 索引）
+     */
+    java.util.List<UserToken> findByTokenTypeAndCreateTimeGreaterThanEqual(String tokenType, LocalDateTime since);
+
+    /**
+     * 按ID删除，返回删除的行数（已被删除时为0）
+     */
+    @Modifying
+    @Query("DELETE FROM UserToken t WHERE t.id = :id")
+    int deleteTokenById(@Param("id") Long id);
+
+    /**
+     * 分批删除过期的Token，返回本批删除的行数
+     */
+    @Transactional
     @Modifying
-    @Query("DELETE FROM UserToken t WHERE t.expireTime < :now")
-    void deleteExpiredTokens(@Param("now") LocalDateTime now);
+    @Query(value = "DELETE FROM user_tokens WHERE expire_time < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpiredTokens(@Param("now") LocalDateTime now, @Param("limit") int limit);
 
     /**
      * 删除用户的所有Token
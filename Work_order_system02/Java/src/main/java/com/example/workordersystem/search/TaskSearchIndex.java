@@ -0,0 +1,313 @@
+package com.example.workordersystem.search;
+
+import com.example.workordersystem.entity.Task;
+import com.example.workordersystem.repository.TaskRepository;
+import com.example.workordersystem.repository.TaskSearchDocument;
+import com.example.workordersystem.service.TaskMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 工单全文索引（Lucene，进程内）
+ * 索引工单名称、描述、分类和标签，按用户隔离；只保存工单ID，命中后由调用方从数据库加载列表项。
+ * 工单写操作在事务提交后更新索引，定时刷新后对搜索可见；应用启动后从数据库全量重建。
+ * 索引只在本进程内，多节点部署时各节点分别从数据库重建，同一节点上的写入即时生效
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskSearchIndex {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_USER_ID = "userId";
+    private static final String FIELD_NAME = "taskName";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final String FIELD_CATEGORY = "category";
+    private static final String FIELD_TAGS = "tags";
+    /**
+     * 所有文本字段的合并字段：关键词中的每个词只要出现在任一字段即可命中，各字段的加权只用于排序
+     */
+    private static final String FIELD_ALL = "all";
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            FIELD_NAME, 3.0f,
+            FIELD_TAGS, 2.0f,
+            FIELD_CATEGORY, 1.5f,
+            FIELD_DESCRIPTION, 1.0f);
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+
+    @Value("${task.search.index-dir:}")
+    private String indexDir;
+
+    @Value("${task.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private final Analyzer queryAnalyzer = TaskTextAnalyzer.forQuery();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    /**
+     * 重建期间由写操作更新过的工单ID；重建时跳过这些工单，避免用重建前读到的旧内容覆盖
+     */
+    private volatile Set<String> touchedDuringRebuild;
+
+    /**
+     * 搜索结果，hasMore 表示还有下一页
+     */
+    public record Hits(List<String> ids, boolean hasMore) {
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        directory = indexDir == null || indexDir.isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(indexDir));
+        // 用户ID、工单ID为 StringField，不经过分析器
+        IndexWriterConfig config = new IndexWriterConfig(TaskTextAnalyzer.forIndexing())
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * 应用启动后从数据库全量重建索引（按ID分批读取，只查询建索引所需的列）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+        int count = 0;
+        try {
+            String lastId = "";
+            List<TaskSearchDocument> batch;
+            do {
+                batch = taskRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, rebuildBatchSize));
+                for (TaskSearchDocument task : batch) {
+                    if (!touchedDuringRebuild.contains(task.id())) {
+                        writer.updateDocument(new Term(FIELD_ID, task.id()), document(task.id(), task.userId(),
+                                task.taskName(), task.description(), task.category(), task.tags()));
+                        count++;
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == rebuildBatchSize);
+            searcherManager.maybeRefresh();
+            log.info("工单全文索引重建完成：{} 个工单，耗时 {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("工单全文索引重建失败，已索引 {} 个工单", count, e);
+        } finally {
+            touchedDuringRebuild = null;
+        }
+    }
+
+    /**
+     * 新建或修改工单后更新索引（事务提交后执行）
+     */
+    public void index(Collection<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        List<Document> documents = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            documents.add(document(task.getId(), task.getUserId(), task.getTaskName(), task.getDescription(),
+                    task.getCategory(), task.getTags()));
+        }
+        afterCommit(() -> {
+            for (Document document : documents) {
+                String id = document.get(FIELD_ID);
+                markTouched(id);
+                writer.updateDocument(new Term(FIELD_ID, id), document);
+            }
+        });
+    }
+
+    /**
+     * 删除工单后移除索引（事务提交后执行）
+     */
+    public void delete(Collection<String> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = List.copyOf(taskIds);
+        afterCommit(() -> {
+            Term[] terms = new Term[ids.size()];
+            for (int i = 0; i < ids.size(); i++) {
+                markTouched(ids.get(i));
+                terms[i] = new Term(FIELD_ID, ids.get(i));
+            }
+            writer.deleteDocuments(terms);
+        });
+    }
+
+    /**
+     * 按关键词搜索用户的工单，按相关度排序
+     * 关键词分词后每个词都须出现（在任一字段中），名称、标签中的命中排序更靠前
+     */
+    public Hits search(String userId, String keywords, int offset, int limit) throws IOException {
+        Query query = buildQuery(userId, keywords);
+        if (query == null) {
+            return new Hits(List.of(), false);
+        }
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, offset + limit + 1);
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            List<String> ids = new ArrayList<>(limit);
+            for (int i = offset; i < scoreDocs.length && ids.size() < limit; i++) {
+                ids.add(searcher.storedFields().document(scoreDocs[i].doc, Set.of(FIELD_ID)).get(FIELD_ID));
+            }
+            return new Hits(ids, scoreDocs.length > offset + limit);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 索引中的工单数量（包含已刷新的写入）
+     */
+    public int getDocumentCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * 定时刷新，使已提交的写入对搜索可见
+     */
+    @Scheduled(fixedDelayString = "${task.search.refresh-interval:1000}")
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("刷新工单全文索引失败: {}", e.getMessage());
+        }
+    }
+
+    private Query buildQuery(String userId, String keywords) {
+        QueryBuilder builder = new QueryBuilder(queryAnalyzer);
+        Query required = builder.createBooleanQuery(FIELD_ALL, keywords, BooleanClause.Occur.MUST);
+        if (required == null) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(FIELD_USER_ID, userId)), BooleanClause.Occur.FILTER)
+                .add(required, BooleanClause.Occur.MUST);
+        FIELD_BOOSTS.forEach((field, boost) -> {
+            Query fieldQuery = builder.createBooleanQuery(field, keywords, BooleanClause.Occur.SHOULD);
+            if (fieldQuery != null) {
+                query.add(new BoostQuery(fieldQuery, boost), BooleanClause.Occur.SHOULD);
+            }
+        });
+        return query.build();
+    }
+
+    private Document document(String id, String userId, String taskName, String description,
+                              String category, String tagsJson) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, id, Field.Store.YES));
+        document.add(new StringField(FIELD_USER_ID, userId, Field.Store.NO));
+        StringBuilder all = new StringBuilder();
+        addText(document, all, FIELD_NAME, taskName);
+        addText(document, all, FIELD_DESCRIPTION, description);
+        addText(document, all, FIELD_CATEGORY, category);
+        List<String> tags = taskMapper.readTags(id, tagsJson);
+        if (tags != null) {
+            tags.forEach(tag -> addText(document, all, FIELD_TAGS, tag));
+        }
+        document.add(new TextField(FIELD_ALL, all.toString(), Field.Store.NO));
+        return document;
+    }
+
+    private static void addText(Document document, StringBuilder all, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, Field.Store.NO));
+            // 以换行分隔，二元分词不会跨字段组合出新词
+            all.append(value).append('\n');
+        }
+    }
+
+    private void markTouched(String id) {
+        Set<String> touched = touchedDuringRebuild;
+        if (touched != null) {
+            touched.add(id);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * 在当前事务提交后执行索引更新，没有事务时立即执行；索引更新失败只记录日志，不影响已提交的写操作
+     */
+    private void afterCommit(IndexAction action) {
+        Runnable task = () -> {
+            try {
+                action.run();
+            } catch (IOException | RuntimeException e) {
+                log.warn("更新工单全文索引失败: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.workordersystem.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.cjk.CJKBigramFilter;
+import org.apache.lucene.analysis.cjk.CJKWidthFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+
+/**
+ * 工单文本分词器
+ * 中日韩文字按相邻两字切分（二元分词），其他文字按单词切分并转为小写，全角字符统一为半角。
+ * 建索引时同时输出单字，单字关键词也能命中；查询时只用二元词，多字关键词按词组匹配而不是逐字匹配
+ */
+public class TaskTextAnalyzer extends Analyzer {
+
+    private final boolean outputUnigrams;
+
+    private TaskTextAnalyzer(boolean outputUnigrams) {
+        this.outputUnigrams = outputUnigrams;
+    }
+
+    /**
+     * 建索引使用的分词器（二元词 + 单字）
+     */
+    public static TaskTextAnalyzer forIndexing() {
+        return new TaskTextAnalyzer(true);
+    }
+
+    /**
+     * 查询使用的分词器（仅二元词，单独的一个汉字仍输出单字）
+     */
+    public static TaskTextAnalyzer forQuery() {
+        return new TaskTextAnalyzer(false);
+    }
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        StandardTokenizer tokenizer = new StandardTokenizer();
+        TokenStream stream = new CJKWidthFilter(tokenizer);
+        stream = new LowerCaseFilter(stream);
+        stream = new CJKBigramFilter(stream, CJKBigramFilter.HAN | CJKBigramFilter.HIRAGANA
+                | CJKBigramFilter.KATAKANA | CJKBigramFilter.HANGUL, outputUnigrams);
+        return new TokenStreamComponents(tokenizer, stream);
+    }
+
+    @Override
+    protected TokenStream normalize(String fieldName, TokenStream in) {
+        return new LowerCaseFilter(new CJKWidthFilter(in));
+    }
+}
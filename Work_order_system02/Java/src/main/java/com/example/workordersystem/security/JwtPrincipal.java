@@ -0,0 +1,18 @@
+package com.example.workordersystem.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 已验证Token对应的用户身份
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class JwtPrincipal {
+    private final String userId;
+    private final String username;
+    private final long expiresAt; // Token过期时间（毫秒时间戳）
+    private final String tokenId; // Token ID（jti），注销时加入拒绝列表
+}
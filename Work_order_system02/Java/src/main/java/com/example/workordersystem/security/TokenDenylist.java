@@ -0,0 +1,150 @@
+package com.example.workordersystem.security;
+
+import com.example.workordersystem.entity.UserToken;
+import com.example.workordersystem.repository.UserTokenRepository;
+import com.example.workordersystem.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 已注销访问Token的拒绝列表（按 jti）
+ * 每次请求验证Token时检查，不访问数据库：布隆过滤器在前，绝大多数未注销的Token一次位运算即可放行，
+ * 可能命中时再查精确集合排除误判。启动时从 user_tokens 加载未过期的注销记录，
+ * 之后定时读取新写入的记录，其他节点上的注销在一个同步间隔内生效
+ */
+@Slf4j
+@Component
+public class TokenDenylist {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final UserTokenRepository userTokenRepository;
+
+    @Value("${jwt.expiration}")
+    private long expiration;
+
+    @Value("${jwt.denylist.expected-size:100000}")
+    private int expectedSize;
+
+    /**
+     * 同步时回看的时间：写入时间早于上次同步、但在上次同步之后才提交的记录也能读到
+     */
+    @Value("${jwt.denylist.sync-lookback:60000}")
+    private long syncLookback;
+
+    /**
+     * jti -> Token过期时间（毫秒时间戳）
+     */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    /**
+     * 保证同一时间只有一次同步或重建
+     */
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private LocalDateTime lastSync;
+
+    public TokenDenylist(UserTokenRepository userTokenRepository) {
+        this.userTokenRepository = userTokenRepository;
+    }
+
+    /**
+     * 启动时加载（在开始接收请求之前）：注销记录在Token过期前写入，早于一个Token有效期的记录都已过期
+     */
+    @PostConstruct
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        filter = new BloomFilter(expectedSize, FALSE_POSITIVE_RATE);
+        int count = sync(now.minusNanos(expiration * 1_000_000), now);
+        log.info("Token拒绝列表已加载：{} 个已注销的Token", count);
+    }
+
+    /**
+     * Token是否已注销
+     */
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * 将Token加入本节点的拒绝列表（注销记录由调用方写入数据库）
+     */
+    public void revoke(String tokenId, long expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        filter.put(tokenId);
+    }
+
+    /**
+     * 读取其他节点新写入的注销记录
+     */
+    @Scheduled(fixedDelayString = "${jwt.denylist.sync-interval:5000}")
+    public void refresh() {
+        syncLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            sync(lastSync.minusNanos(syncLookback * 1_000_000), now);
+        } catch (RuntimeException e) {
+            log.warn("同步Token拒绝列表失败: {}", e.getMessage());
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 移除已过期的Token并重建布隆过滤器（过滤器不能删除元素，定期重建避免误判率上升）
+     */
+    public void compact() {
+        syncLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedSize, revoked.size() * 2), FALSE_POSITIVE_RATE);
+            revoked.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+            // 重建期间本节点新注销的Token可能未进入新过滤器，再补一遍
+            revoked.keySet().forEach(rebuilt::put);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 拒绝列表中的Token数量
+     */
+    public int getSize() {
+        return revoked.size();
+    }
+
+    /**
+     * 布隆过滤器占用的字节数
+     */
+    public long getFilterBytes() {
+        return filter.getSizeInBytes();
+    }
+
+    private int sync(LocalDateTime since, LocalDateTime now) {
+        List<UserToken> rows = userTokenRepository.findByTokenTypeAndCreateTimeGreaterThanEqual(
+                UserToken.TYPE_REVOKED, since);
+        long nowMillis = System.currentTimeMillis();
+        int count = 0;
+        for (UserToken row : rows) {
+            long expiresAt = row.getExpireTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            if (expiresAt > nowMillis && !revoked.containsKey(row.getToken())) {
+                revoke(row.getToken(), expiresAt);
+                count++;
+            }
+        }
+        lastSync = now;
+        return count;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.workordersystem.service;
+
+import com.example.workordersystem.dto.UserInfoResponse;
+import com.example.workordersystem.entity.User;
+import com.example.workordersystem.entity.UserToken;
+import com.example.workordersystem.repository.UserRepository;
+import com.example.workordersystem.repository.UserTokenRepository;
+import com.example.workordersystem.security.JwtPrincipal;
+import com.example.workordersystem.security.TokenDenylist;
+import com.example.workordersystem.util.JwtUtil;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Token刷新与注销
+ * 刷新Token为随机字符串，数据库中只保存其SHA-256摘要；每次刷新作废旧的刷新Token并签发新的一对Token。
+ * 退出登录时将访问Token的jti写入 user_tokens 并加入 {@link TokenDenylist}，同时删除客户端提交的刷新Token。
+ * 请求路径上的方法按 auth.token.service 计时，定时清理不计入
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthTokenService {
+
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
+    private final UserTokenRepository userTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final TokenDenylist tokenDenylist;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration:30d}")
+    private Duration refreshExpiration;
+
+    @Value("${jwt.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    /**
+     * 为用户签发刷新Token，返回明文（只在本次响应中出现）
+     */
+    @Timed(value = "auth.token.service", histogram = true)
+    public String issueRefreshToken(String userId) {
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        UserToken row = new UserToken();
+        row.setUserId(userId);
+        row.setTokenType(UserToken.TYPE_REFRESH);
+        row.setToken(digest(refreshToken));
+        row.setExpireTime(LocalDateTime.now().plus(refreshExpiration));
+        userTokenRepository.save(row);
+        return refreshToken;
+    }
+
+    /**
+     * 用刷新Token换取新的访问Token和刷新Token，旧的刷新Token作废
+     */
+    @Transactional
+    @Timed(value = "auth.token.service", histogram = true)
+    public UserInfoResponse refresh(String refreshToken) {
+        UserToken row = userTokenRepository.findByTokenTypeAndToken(UserToken.TYPE_REFRESH, digest(refreshToken))
+                .orElseThrow(() -> new RuntimeException("刷新Token无效，请重新登录"));
+        if (row.getExpireTime().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("刷新Token已过期，请重新登录");
+        }
+        // 条件删除：同一刷新Token并发使用时只有一个请求成功
+        if (userTokenRepository.deleteTokenById(row.getId()) == 0) {
+            throw new RuntimeException("刷新Token无效，请重新登录");
+        }
+
+        User user = userRepository.findById(row.getUserId())
+                .orElseThrow(() -> new RuntimeException("用户不存在"));
+        if (user.getStatus() == 0) {
+            throw new RuntimeException("用户已被禁用");
+        }
+
+        return UserInfoResponse.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .phone(user.getPhone())
+                .registerTime(user.getRegisterTime())
+                .token(jwtUtil.generateToken(user.getId(), user.getUsername()))
+                .refreshToken(issueRefreshToken(user.getId()))
+                .build();
+    }
+
+    /**
+     * 退出登录：注销当前访问Token（事务提交后本节点立即生效，其他节点在下次同步后生效），并删除提交的刷新Token
+     * principal 为空（访问Token已过期或无效）时只删除刷新Token
+     */
+    @Transactional
+    @Timed(value = "auth.token.service", histogram = true)
+    public void logout(JwtPrincipal principal, String refreshToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            userTokenRepository.findByTokenTypeAndToken(UserToken.TYPE_REFRESH, digest(refreshToken))
+                    .filter(row -> principal == null || row.getUserId().equals(principal.getUserId()))
+                    .ifPresent(row -> userTokenRepository.deleteTokenById(row.getId()));
+        }
+        if (principal == null || principal.getTokenId() == null) {
+            return;
+        }
+
+        UserToken row = new UserToken();
+        row.setUserId(principal.getUserId());
+        row.setTokenType(UserToken.TYPE_REVOKED);
+        row.setToken(principal.getTokenId());
+        row.setExpireTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(principal.getExpiresAt()), ZoneId.systemDefault()));
+        userTokenRepository.save(row);
+        // 注销记录回滚时不能留在拒绝列表中，否则本节点拒绝一个仍然有效的Token
+        afterCommit(() -> tokenDenylist.revoke(principal.getTokenId(), principal.getExpiresAt()));
+    }
+
+    /**
+     * 分批清理过期的刷新Token和注销记录，并压缩拒绝列表
+     */
+    @Scheduled(cron = "${jwt.purge-cron:0 0 4 * * *}")
+    public void purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = userTokenRepository.deleteExpiredTokens(now, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        tokenDenylist.compact();
+        if (total > 0) {
+            log.info("已清理 {} 条过期的Token记录", total);
+        }
+    }
+
+    /**
+     * 在当前事务提交后执行，没有事务时立即执行
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.workordersystem.service;
+
+import com.example.workordersystem.config.CacheConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 最后登录时间写缓冲
+ * 登录时只记录到内存，同一用户的多次登录合并为一条；定时及应用关闭时批量写入数据库
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LastLoginRecorder {
+
+    private static final String UPDATE_SQL = "UPDATE users SET last_login_time = ?"
+            + " WHERE id = ? AND (last_login_time IS NULL OR last_login_time < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+
+    @Value("${last-login.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 待写入的登录时间（用户ID -> 最近一次登录时间）
+     */
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 保证同一时间只有一次写入；使用ReentrantLock而非synchronized，虚拟线程执行JDBC时不会钉住载体线程
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * 记录一次登录，保留最晚的时间
+     */
+    public void record(String userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    /**
+     * 获取尚未写入数据库的登录时间，没有时返回null
+     */
+    public LocalDateTime getPending(String userId) {
+        return pending.get(userId);
+    }
+
+    /**
+     * 待写入的用户数量
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 批量写入数据库
+     * 只移除写入期间未再次登录的条目；写入失败时保留，等待下次重试
+     */
+    @Scheduled(fixedDelayString = "${last-login.flush-interval:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void doFlush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, LocalDateTime>> entries = new ArrayList<>(pending.size());
+        pending.forEach((userId, loginTime) -> entries.add(Map.entry(userId, loginTime)));
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, entries, batchSize, (ps, entry) -> {
+                Timestamp loginTime = Timestamp.valueOf(entry.getValue());
+                ps.setTimestamp(1, loginTime);
+                ps.setString(2, entry.getKey());
+                ps.setTimestamp(3, loginTime);
+            });
+        } catch (RuntimeException e) {
+            log.warn("写入最后登录时间失败，{} 条记录将在下次重试: {}", entries.size(), e.getMessage());
+            return;
+        }
+
+        // 先清除用户信息缓存再移除待写入记录，期间读取的用户信息总能看到最新时间
+        Cache userInfoCache = cacheManager.getCache(CacheConfig.USER_INFO);
+        for (Map.Entry<String, LocalDateTime> entry : entries) {
+            if (userInfoCache != null) {
+                userInfoCache.evict(entry.getKey());
+            }
+            pending.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 应用关闭前写入剩余记录
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.workordersystem.service;
+
+import com.example.workordersystem.dto.TaskChangesResponse;
+import com.example.workordersystem.dto.TaskSummaryResponse;
+import com.example.workordersystem.entity.TaskTombstone;
+import com.example.workordersystem.repository.TaskRepository;
+import com.example.workordersystem.repository.TaskSummary;
+import com.example.workordersystem.repository.TaskTombstoneRepository;
+import com.example.workordersystem.util.ChangeCursor;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 工单增量同步服务
+ * 新建和修改的工单按 (update_time, id) 读取，删除的工单按 (deleted_time, task_id) 从删除记录表读取，
+ * 两者合并为同一序列，游标指向客户端已收到的最后一条。
+ * 查询上界为当前时间减去稳定窗口（取整到秒），此前开始但尚未提交的事务写入的时间早于上界，
+ * 窗口内的变更留到下次同步，避免游标越过尚未可见的行
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = "task.service", histogram = true)
+public class TaskChangeService {
+
+    private static final int MAX_LIMIT = 500;
+    private static final int PURGE_BATCH_SIZE = 1000;
+    private static final ChangeCursor ORIGIN = new ChangeCursor(LocalDateTime.of(1970, 1, 1, 0, 0), "");
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskMapper taskMapper;
+
+    @Value("${task.changes.settle-window:3s}")
+    private Duration settleWindow;
+
+    @Value("${task.changes.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    /**
+     * 获取游标之后的变更
+     * 不带游标时从头读取全部工单（此时客户端没有本地数据，不返回删除记录）；
+     * 游标早于删除记录保留期时返回 fullSync，客户端需重新全量同步
+     */
+    public TaskChangesResponse getChanges(String userId, String since, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        boolean initial = since == null || since.isEmpty();
+        ChangeCursor cursor = initial ? ORIGIN : ChangeCursor.decode(since);
+        LocalDateTime now = LocalDateTime.now();
+        if (!initial && cursor.getTime().isBefore(now.minus(tombstoneRetention))) {
+            return TaskChangesResponse.fullSyncRequired();
+        }
+
+        LocalDateTime upper = now.minus(settleWindow).truncatedTo(ChronoUnit.SECONDS);
+        Pageable page = PageRequest.of(0, size + 1);
+        List<Object[]> tasks = taskRepository.findChangesAfter(userId, cursor.getTime(), cursor.getId(), upper, page);
+        List<TaskTombstone> tombstones = initial ? List.of()
+                : taskTombstoneRepository.findChangesAfter(userId, cursor.getTime(), cursor.getId(), upper, page);
+
+        // 两个有序序列按 (时间, ID) 归并，取前 size 条
+        List<TaskSummaryResponse> changed = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        ChangeCursor last = null;
+        int i = 0;
+        int j = 0;
+        while (changed.size() + deleted.size() < size && (i < tasks.size() || j < tombstones.size())) {
+            ChangeCursor task = i < tasks.size()
+                    ? new ChangeCursor((LocalDateTime) tasks.get(i)[1], ((TaskSummary) tasks.get(i)[0]).id()) : null;
+            TaskTombstone tombstone = j < tombstones.size() ? tombstones.get(j) : null;
+            if (task != null && (tombstone == null || task.isBefore(tombstone.getDeletedTime(), tombstone.getTaskId()))) {
+                changed.add(taskMapper.toSummaryResponse((TaskSummary) tasks.get(i++)[0]));
+                last = task;
+            } else {
+                deleted.add(tombstone.getTaskId());
+                last = new ChangeCursor(tombstone.getDeletedTime(), tombstone.getTaskId());
+                j++;
+            }
+        }
+
+        boolean hasMore = i < tasks.size() || j < tombstones.size();
+        // 已读完上界之前的全部变更时游标推进到上界，长时间无变更的客户端游标也不会超出保留期
+        ChangeCursor next = hasMore ? last : new ChangeCursor(upper, "");
+        return new TaskChangesResponse(changed, deleted, next.encode(), hasMore, false);
+    }
+
+    /**
+     * 分批清理超过保留期的删除记录
+     */
+    @Scheduled(cron = "${task.changes.purge-cron:0 30 3 * * *}")
+    public void purgeTombstones() {
+        LocalDateTime before = LocalDateTime.now().minus(tombstoneRetention);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = taskTombstoneRepository.deleteExpired(before, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            log.info("已清理 {} 条过期的工单删除记录", total);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.workordersystem.service;
+
+import com.example.workordersystem.dto.TaskResponse;
+import com.example.workordersystem.dto.TaskSummaryResponse;
+import com.example.workordersystem.entity.Task;
+import com.example.workordersystem.repository.TaskSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 工单转换器
+ * 标签的JSON读写器在启动时构建一次并复用，列表响应不再逐行创建类型信息
+ */
+@Slf4j
+@Component
+public class TaskMapper {
+
+    private final ObjectReader tagsReader;
+    private final ObjectWriter tagsWriter;
+
+    public TaskMapper(ObjectMapper objectMapper) {
+        this.tagsReader = objectMapper.readerForListOf(String.class);
+        this.tagsWriter = objectMapper.writerFor(tagsReader.getValueType());
+    }
+
+    /**
+     * 规范化标签：去除首尾空白、空标签和重复标签，保持原有顺序
+     * 按原文去重，"Bug" 和 "bug" 是两个标签；task_tags.tag 使用区分大小写的 utf8mb4_bin，主键不会冲突
+     */
+    public List<String> normalizeTags(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String tag : tags) {
+            if (tag != null && !tag.isBlank()) {
+                normalized.add(tag.trim());
+            }
+        }
+        return List.copyOf(normalized);
+    }
+
+    /**
+     * 标签列表序列化为JSON，空列表返回null
+     */
+    public String writeTags(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return null;
+        }
+        try {
+            return tagsWriter.writeValueAsString(tags);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("标签格式错误");
+        }
+    }
+
+    /**
+     * 解析工单的标签JSON，内容损坏时记录日志并返回null
+     */
+    public List<String> readTags(Task task) {
+        return readTags(task.getId(), task.getTags());
+    }
+
+    /**
+     * 解析标签JSON，内容损坏时记录日志并返回null
+     */
+    public List<String> readTags(String taskId, String json) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        try {
+            return tagsReader.readValue(json);
+        } catch (Exception e) {
+            log.warn("工单 {} 的标签无法解析: {}", taskId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 转换为响应DTO
+     */
+    public TaskResponse toResponse(Task task) {
+        return TaskResponse.builder()
+                .id(task.getId())
+                .taskName(task.getTaskName())
+                .description(task.getDescription())
+                .progressValue(task.getProgressValue())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .createDate(task.getCreateDate())
+                .updateDate(task.getUpdateDate())
+                .dueDate(task.getDueDate())
+                .overdueTime(task.getOverdueTime())
+                .assignee(task.getAssignee())
+                .category(task.getCategory())
+                .tags(readTags(task))
+                .userId(task.getUserId())
+                .createTime(task.getCreateTime())
+                .updateTime(task.getUpdateTime())
+                .version(task.getVersion())
+                .build();
+    }
+
+    /**
+     * 列表投影转换为列表项响应DTO
+     */
+    public TaskSummaryResponse toSummaryResponse(TaskSummary summary) {
+        return TaskSummaryResponse.builder()
+                .id(summary.id())
+                .taskName(summary.taskName())
+                .progressValue(summary.progressValue())
+                .status(summary.status())
+                .priority(summary.priority())
+                .createDate(summary.createDate())
+                .updateDate(summary.updateDate())
+                .dueDate(summary.dueDate())
+                .assignee(summary.assignee())
+                .category(summary.category())
+                .tags(readTags(summary.id(), summary.tags()))
+                .version(summary.version())
+                .build();
+    }
+}
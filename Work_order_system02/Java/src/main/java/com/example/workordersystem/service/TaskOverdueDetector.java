@@ -0,0 +1,307 @@
+package com.example.workordersystem.service;
+
+import com.example.workordersystem.config.CacheConfig;
+import com.example.workordersystem.entity.Task;
+import com.example.workordersystem.event.TaskEventOutbox;
+import com.example.workordersystem.repository.TaskRepository;
+import com.example.workordersystem.util.TimingWheel;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 工单逾期检测
+ * 内存中的时间轮只保存截止日期在 horizon 窗口内的未完成工单，到期时标记逾期并写入 TASK_OVERDUE 事件，每个工单的处理为O(1)。
+ * 启动时按 (status, overdue_time, due_date) 索引补扫已逾期和即将到期的工单，之后窗口过半时只加载新进入窗口的工单；
+ * 工单新建、修改、删除在事务提交后更新时间轮。
+ * 标记为条件更新，多节点同时检测时每个工单只产生一个事件
+ */
+@Slf4j
+@Component
+public class TaskOverdueDetector {
+
+    private static final List<String> OPEN_STATUSES = List.of("pending", "in_progress");
+    /**
+     * 补扫的起始截止日期（MySQL DATETIME 的最小值）
+     */
+    private static final LocalDateTime MIN_DUE_DATE = LocalDateTime.of(1000, 1, 1, 0, 0);
+
+    private final TaskRepository taskRepository;
+    private final TaskEventOutbox taskEventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+
+    @Value("${task.overdue.tick:1000}")
+    private long tickMillis;
+
+    @Value("${task.overdue.horizon:1h}")
+    private Duration horizon;
+
+    @Value("${task.overdue.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 保护时间轮；使用ReentrantLock而非synchronized，虚拟线程持锁时不会钉住载体线程
+     */
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private TimingWheel<String> wheel;
+
+    /**
+     * 已加载到时间轮的截止日期上限，启动补扫开始前为null（此前的写入由补扫读到）
+     */
+    private volatile LocalDateTime loadedUntil;
+
+    private final AtomicLong detectedCount = new AtomicLong();
+
+    public TaskOverdueDetector(TaskRepository taskRepository, TaskEventOutbox taskEventOutbox,
+                               TransactionTemplate transactionTemplate, CacheManager cacheManager) {
+        this.taskRepository = taskRepository;
+        this.taskEventOutbox = taskEventOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheManager = cacheManager;
+    }
+
+    @PostConstruct
+    public void init() {
+        wheel = new TimingWheel<>(tickMillis, (int) (horizon.toMillis() / tickMillis) + 1, System.currentTimeMillis());
+    }
+
+    /**
+     * 状态是否为未完成（可能逾期）
+     */
+    static boolean isOpen(String status) {
+        return OPEN_STATUSES.contains(status);
+    }
+
+    /**
+     * 启动补扫：加载所有尚未标记的已逾期工单（下一个刻度即标记）和窗口内即将到期的工单
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        long start = System.nanoTime();
+        LocalDateTime until = LocalDateTime.now().plus(horizon);
+        // 先公开窗口上限，补扫期间提交的写入由写操作自行加入时间轮
+        loadedUntil = until;
+        try {
+            int count = load(MIN_DUE_DATE, until);
+            log.info("工单逾期检测已启动：加载 {} 个工单，耗时 {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // 下个刻度从最早的截止日期重新加载
+            loadedUntil = MIN_DUE_DATE;
+            log.error("工单逾期检测补扫失败，将在下个刻度重试", e);
+        }
+    }
+
+    /**
+     * 新建或修改工单后更新时间轮（事务提交后执行）：未完成、未标记且截止日期在窗口内的加入，其余移除
+     */
+    public void schedule(Collection<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        List<Task> snapshot = List.copyOf(tasks);
+        afterCommit(() -> {
+            LocalDateTime until = loadedUntil;
+            if (until == null) {
+                return;
+            }
+            wheelLock.lock();
+            try {
+                for (Task task : snapshot) {
+                    if (isOpen(task.getStatus()) && task.getOverdueTime() == null
+                            && task.getDueDate() != null && task.getDueDate().isBefore(until)) {
+                        wheel.schedule(task.getId(), toMillis(task.getDueDate()));
+                    } else {
+                        wheel.cancel(task.getId());
+                    }
+                }
+            } finally {
+                wheelLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * 删除工单后从时间轮移除（事务提交后执行）
+     */
+    public void cancel(Collection<String> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = List.copyOf(taskIds);
+        afterCommit(() -> {
+            wheelLock.lock();
+            try {
+                ids.forEach(wheel::cancel);
+            } finally {
+                wheelLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * 推进时间轮，分批标记到期的工单；窗口剩余不足一半时加载新进入窗口的工单
+     */
+    @Scheduled(fixedDelayString = "${task.overdue.tick:1000}")
+    public void tick() {
+        LocalDateTime until = loadedUntil;
+        if (until == null) {
+            return;
+        }
+        List<String> expired;
+        wheelLock.lock();
+        try {
+            expired = wheel.advance(System.currentTimeMillis());
+        } finally {
+            wheelLock.unlock();
+        }
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<String> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            try {
+                Integer marked = transactionTemplate.execute(status -> markBatch(batch));
+                detectedCount.addAndGet(marked == null ? 0 : marked);
+            } catch (RuntimeException e) {
+                log.warn("标记逾期工单失败，{} 个工单将在下个刻度重试: {}", expired.size() - from, e.getMessage());
+                retry(expired.subList(from, expired.size()));
+                break;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (until.isBefore(now.plus(horizon.dividedBy(2)))) {
+            LocalDateTime target = now.plus(horizon);
+            loadedUntil = target;
+            try {
+                int count = load(until, target);
+                log.debug("逾期检测窗口已推进到 {}，加载 {} 个工单", target, count);
+            } catch (RuntimeException e) {
+                loadedUntil = until;
+                log.warn("加载逾期检测窗口失败，将在下个刻度重试: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 时间轮中等待到期的工单数
+     */
+    public int getScheduledCount() {
+        wheelLock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    /**
+     * 已标记逾期的工单数
+     */
+    public long getDetectedCount() {
+        return detectedCount.get();
+    }
+
+    /**
+     * 标记一批到期的工单并写入逾期事件，返回标记数量
+     * 已完成、已删除、截止日期已推后或已被其他节点标记的工单由更新条件排除
+     */
+    private int markBatch(List<String> ids) {
+        // 截断到微秒，与 DATETIME(6) 列的精度一致，用于查回本次标记的工单
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (taskRepository.markOverdue(ids, OPEN_STATUSES, now) == 0) {
+            return 0;
+        }
+        List<Task> tasks = taskRepository.findByIdInAndOverdueTime(ids, now);
+        taskEventOutbox.overdue(tasks);
+        Cache cache = CacheConfig.transactionAware(cacheManager, CacheConfig.TASK_DETAIL);
+        tasks.forEach(task -> cache.evict(task.getId()));
+        return tasks.size();
+    }
+
+    /**
+     * 按 (due_date, id) 顺序分批加载截止日期在 [from, until) 内的未完成工单
+     * 已在时间轮中的工单以写操作设置的截止日期为准，不被读取时可能已过期的值覆盖
+     */
+    private int load(LocalDateTime from, LocalDateTime until) {
+        int count = 0;
+        for (String status : OPEN_STATUSES) {
+            LocalDateTime lastDueDate = from;
+            String lastId = "";
+            List<Object[]> batch;
+            do {
+                batch = taskRepository.findDueDatesAfter(status, lastDueDate, lastId, until,
+                        PageRequest.of(0, batchSize));
+                wheelLock.lock();
+                try {
+                    for (Object[] row : batch) {
+                        String id = (String) row[0];
+                        if (!wheel.contains(id)) {
+                            wheel.schedule(id, toMillis((LocalDateTime) row[1]));
+                        }
+                    }
+                } finally {
+                    wheelLock.unlock();
+                }
+                if (!batch.isEmpty()) {
+                    Object[] last = batch.get(batch.size() - 1);
+                    lastId = (String) last[0];
+                    lastDueDate = (LocalDateTime) last[1];
+                }
+                count += batch.size();
+            } while (batch.size() == batchSize);
+        }
+        return count;
+    }
+
+    private void retry(List<String> ids) {
+        long now = System.currentTimeMillis();
+        wheelLock.lock();
+        try {
+            for (String id : ids) {
+                if (!wheel.contains(id)) {
+                    wheel.schedule(id, now);
+                }
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 在当前事务提交后执行，没有事务时立即执行
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
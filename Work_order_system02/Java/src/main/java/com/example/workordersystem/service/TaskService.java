@@ -1,69 +1,136 @@
 package com.example.workordersystem.service;
 
+import com.example.workordersystem.common.PreconditionFailedException;
+import com.example.workordersystem.config.CacheConfig;
+import com.example.workordersystem.dto.BatchItemResult;
+import com.example.workordersystem.dto.BatchTaskResponse;
+import com.example.workordersystem.dto.CursorPageResponse;
+import com.example.workordersystem.dto.SliceResponse;
+import com.example.workordersystem.dto.TaskFilterRequest;
+import com.example.workordersystem.dto.TaskPatchRequest;
 import com.example.workordersystem.dto.TaskRequest;
 import com.example.workordersystem.dto.TaskResponse;
+import com.example.workordersystem.dto.TaskSummaryResponse;
+import com.example.workordersystem.dto.TaskUpdateItem;
 import com.example.workordersystem.entity.Task;
+import com.example.workordersystem.entity.TaskTag;
+import com.example.workordersystem.entity.TaskTombstone;
+import com.example.workordersystem.event.TaskEventOutbox;
 import com.example.workordersystem.repository.TaskRepository;
+import com.example.workordersystem.repository.TaskSpecifications;
+import com.example.workordersystem.repository.TaskSummary;
+import com.example.workordersystem.repository.TaskTagRepository;
+import com.example.workordersystem.repository.TaskTombstoneRepository;
+import com.example.workordersystem.search.TaskSearchIndex;
 import com.example.workordersystem.util.IdGenerator;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.workordersystem.util.PageCursor;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * 工单服务类
+ * 公开方法的耗时记录在 task.service 指标中（按 method 区分）
  */
 @Service
 @RequiredArgsConstructor
+@Timed(value = "task.service", histogram = true)
 public class TaskService {
 
+    private static final int MAX_RESULT_SIZE = 100;
+    /**
+     * 全文检索可翻页的最大结果数（相关度排序需要取出前 offset+size 条）
+     */
+    private static final int MAX_SEARCH_WINDOW = 1000;
+    private static final Set<String> SORTABLE_FIELDS =
+            Set.of("createDate", "updateDate", "dueDate", "priority", "progressValue", "taskName");
+
     private final TaskRepository taskRepository;
-    private final ObjectMapper objectMapper;
+    private final TaskTagRepository taskTagRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskMapper taskMapper;
+    private final TaskStatisticsService taskStatisticsService;
+    private final Validator validator;
+    private final CacheManager cacheManager;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskEventOutbox taskEventOutbox;
+    private final TaskOverdueDetector taskOverdueDetector;
 
     /**
      * 创建工单
      */
     @Transactional
     public TaskResponse createTask(String userId, TaskRequest request) {
-        Task task = new Task();
-        task.setId(IdGenerator.generateTaskId());
-        task.setUserId(userId);
-        task.setTaskName(request.getTaskName());
-        task.setDescription(request.getDescription());
-        task.setProgressValue(request.getProgressValue());
-        task.setStatus(request.getStatus());
-        task.setPriority(request.getPriority());
-        task.setDueDate(request.getDueDate());
-        task.setAssignee(request.getAssignee());
-        task.setCategory(request.getCategory());
-        
-        // 将标签列表转换为JSON字符串
-        if (request.getTags() != null && !request.getTags().isEmpty()) {
-            try {
-                task.setTags(objectMapper.writeValueAsString(request.getTags()));
-            } catch (Exception e) {
-                throw new RuntimeException("标签格式错误");
-            }
-        }
-
-        // 根据进度值自动设置状态
-        updateTaskStatus(task);
-
+        Task task = newTask(userId, request);
         task = taskRepository.save(task);
-        return convertToResponse(task);
+        saveTags(List.of(task));
+        taskStatisticsService.recordCreated(task);
+        taskEventOutbox.created(List.of(task));
+        taskSearchIndex.index(List.of(task));
+        taskOverdueDetector.schedule(List.of(task));
+        return taskMapper.toResponse(task);
     }
 
     /**
      * 更新工单
+     * expectedVersion 不为空时（请求带 If-Match）与当前版本比较，不一致返回412；
+     * 读取后被并发修改的情况由UPDATE的版本条件在刷新时检出，同样返回412
+     */
+    @Transactional
+    public TaskResponse updateTask(String taskId, String userId, TaskRequest request, Long expectedVersion) {
+        Task task = loadForUpdate(taskId, userId, expectedVersion);
+
+        TaskStatisticsService.Snapshot before = TaskStatisticsService.snapshot(task);
+        String tagsBefore = task.getTags();
+        applyRequest(task, request);
+
+        afterUpdate(task, before, tagsBefore);
+        return taskMapper.toResponse(task);
+    }
+
+    /**
+     * 部分更新工单
+     * 只修改请求中出现的字段，提交时生成一条只包含变化列、带版本条件的UPDATE；没有变化时不写数据库
      */
     @Transactional
-    public TaskResponse updateTask(String taskId, String userId, TaskRequest request) {
+    public TaskResponse patchTask(String taskId, String userId, TaskPatchRequest request, Long expectedVersion) {
+        Task task = loadForUpdate(taskId, userId, expectedVersion);
+
+        TaskStatisticsService.Snapshot before = TaskStatisticsService.snapshot(task);
+        String tagsBefore = task.getTags();
+        applyPatch(task, request);
+
+        afterUpdate(task, before, tagsBefore);
+        return taskMapper.toResponse(task);
+    }
+
+    /**
+     * 加载待修改的工单并校验归属和版本
+     */
+    private Task loadForUpdate(String taskId, String userId, Long expectedVersion) {
         if (taskId == null) {
             throw new IllegalArgumentException("工单ID不能为空");
         }
@@ -74,36 +141,37 @@ public class TaskService {
         if (!task.getUserId().equals(userId)) {
             throw new RuntimeException("无权访问该工单");
         }
-
-        task.setTaskName(request.getTaskName());
-        task.setDescription(request.getDescription());
-        task.setProgressValue(request.getProgressValue());
-        task.setStatus(request.getStatus());
-        task.setPriority(request.getPriority());
-        task.setDueDate(request.getDueDate());
-        task.setAssignee(request.getAssignee());
-        task.setCategory(request.getCategory());
-
-        // 将标签列表转换为JSON字符串
-        if (request.getTags() != null && !request.getTags().isEmpty()) {
-            try {
-                task.setTags(objectMapper.writeValueAsString(request.getTags()));
-            } catch (Exception e) {
-                throw new RuntimeException("标签格式错误");
-            }
-        } else {
-            task.setTags(null);
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("工单已被修改，请刷新后重试");
         }
+        return task;
+    }
 
-        // 根据进度值自动设置状态
-        updateTaskStatus(task);
-
-        task = taskRepository.save(task);
-        return convertToResponse(task);
+    /**
+     * 修改后刷新到数据库，并维护标签行、统计数据、详情缓存、全文索引、逾期检测和事件发件箱
+     * 先刷新以便返回新的版本号和更新时间，并在事务内检出并发修改；没有任何变化时版本号不变，不记录事件
+     */
+    private void afterUpdate(Task task, TaskStatisticsService.Snapshot before, String tagsBefore) {
+        Long versionBefore = task.getVersion();
+        try {
+            taskRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new PreconditionFailedException("工单已被修改，请刷新后重试");
+        }
+        if (!Objects.equals(versionBefore, task.getVersion())) {
+            taskEventOutbox.updated(List.of(task));
+        }
+        if (!Objects.equals(tagsBefore, task.getTags())) {
+            replaceTags(List.of(task));
+        }
+        taskStatisticsService.recordUpdated(before, task);
+        taskDetailCache().evict(task.getId());
+        taskSearchIndex.index(List.of(task));
+        taskOverdueDetector.schedule(List.of(task));
     }
 
     /**
-     * 删除工单
+     * 删除工单（同一事务中写入删除记录，供增量同步使用）
      */
     @Transactional
     public void deleteTask(String taskId, String userId) {
@@ -118,53 +186,451 @@ public class TaskService {
             throw new RuntimeException("无权访问该工单");
         }
 
+        taskTagRepository.deleteByTaskIdIn(List.of(task.getId()));
         taskRepository.delete(task);
+        taskTombstoneRepository.save(new TaskTombstone(task.getId(), userId, LocalDateTime.now()));
+        taskEventOutbox.deleted(List.of(task));
+        taskStatisticsService.recordDeleted(task);
+        taskDetailCache().evict(taskId);
+        taskSearchIndex.delete(List.of(taskId));
+        taskOverdueDetector.cancel(List.of(taskId));
+    }
+
+    /**
+     * 批量创建工单
+     * 逐条校验，校验通过的工单统一保存，由Hibernate JDBC批量插入
+     */
+    @Transactional
+    public BatchTaskResponse batchCreateTasks(String userId, List<TaskRequest> requests) {
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        List<Task> tasks = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results.add(BatchItemResult.fail(i, null, error));
+                continue;
+            }
+            try {
+                Task task = newTask(userId, request);
+                tasks.add(task);
+                results.add(BatchItemResult.ok(i, task.getId(), null));
+            } catch (RuntimeException e) {
+                results.add(BatchItemResult.fail(i, null, e.getMessage()));
+            }
+        }
+
+        taskRepository.saveAll(tasks);
+        saveTags(tasks);
+        taskStatisticsService.record(List.of(), tasks.stream().map(TaskStatisticsService::snapshot).toList());
+        taskEventOutbox.created(tasks);
+        taskSearchIndex.index(tasks);
+        taskOverdueDetector.schedule(tasks);
+
+        Map<String, Task> created = tasks.stream().collect(Collectors.toMap(Task::getId, Function.identity()));
+        results.stream()
+                .filter(BatchItemResult::getSuccess)
+                .forEach(result -> result.setTask(taskMapper.toResponse(created.get(result.getTaskId()))));
+        return BatchTaskResponse.of(results);
+    }
+
+    /**
+     * 批量更新工单
+     * 一次IN查询加载并校验归属，修改后在提交时由Hibernate JDBC批量更新；
+     * 读取后有工单被并发修改时由UPDATE的版本条件检出，整批回滚并返回412（与单个更新一致）
+     */
+    @Transactional
+    public BatchTaskResponse batchUpdateTasks(String userId, List<TaskUpdateItem> items) {
+        Set<String> ids = items.stream()
+                .map(TaskUpdateItem::getTaskId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Task> owned = taskRepository.findByUserIdAndIdIn(userId, ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        List<TaskStatisticsService.Snapshot> before = new ArrayList<>();
+        List<Task> updated = new ArrayList<>();
+        List<Task> retagged = new ArrayList<>();
+        Map<String, Long> versionsBefore = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            TaskUpdateItem item = items.get(i);
+            String taskId = item.getTaskId();
+            Task task = taskId != null ? owned.get(taskId) : null;
+            if (task == null) {
+                results.add(BatchItemResult.fail(i, taskId, taskId == null ? "工单ID不能为空" : "工单不存在或无权访问"));
+                continue;
+            }
+            if (!seen.add(taskId)) {
+                results.add(BatchItemResult.fail(i, taskId, "工单ID重复"));
+                continue;
+            }
+            String error = validate(item);
+            if (error != null) {
+                results.add(BatchItemResult.fail(i, taskId, error));
+                continue;
+            }
+            try {
+                TaskStatisticsService.Snapshot snapshot = TaskStatisticsService.snapshot(task);
+                String tagsBefore = task.getTags();
+                applyRequest(task, item);
+                before.add(snapshot);
+                updated.add(task);
+                versionsBefore.put(taskId, task.getVersion());
+                if (!Objects.equals(tagsBefore, task.getTags())) {
+                    retagged.add(task);
+                }
+                results.add(BatchItemResult.ok(i, taskId, null));
+            } catch (RuntimeException e) {
+                results.add(BatchItemResult.fail(i, taskId, e.getMessage()));
+            }
+        }
+
+        try {
+            taskRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new PreconditionFailedException("部分工单已被修改，请刷新后重试");
+        }
+        taskEventOutbox.updated(updated.stream()
+                .filter(task -> !Objects.equals(versionsBefore.get(task.getId()), task.getVersion()))
+                .toList());
+        replaceTags(retagged);
+        taskStatisticsService.record(before, updated.stream().map(TaskStatisticsService::snapshot).toList());
+        Cache cache = taskDetailCache();
+        updated.forEach(task -> cache.evict(task.getId()));
+        taskSearchIndex.index(updated);
+        taskOverdueDetector.schedule(updated);
+        results.stream()
+                .filter(BatchItemResult::getSuccess)
+                .forEach(result -> result.setTask(taskMapper.toResponse(owned.get(result.getTaskId()))));
+        return BatchTaskResponse.of(results);
+    }
+
+    /**
+     * 批量删除工单
+     * 一次IN查询校验归属，一条DELETE语句删除，删除记录批量写入供增量同步使用
+     */
+    @Transactional
+    public BatchTaskResponse batchDeleteTasks(String userId, List<String> taskIds) {
+        Set<String> ids = taskIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        List<Task> tasks = taskRepository.findByUserIdAndIdIn(userId, ids);
+        Set<String> owned = tasks.stream().map(Task::getId).collect(Collectors.toSet());
+
+        int deleted = 0;
+        if (!owned.isEmpty()) {
+            taskTagRepository.deleteByTaskIdIn(owned);
+            deleted = taskRepository.deleteByUserIdAndIdIn(userId, owned);
+            LocalDateTime now = LocalDateTime.now();
+            taskTombstoneRepository.saveAll(owned.stream().map(id -> new TaskTombstone(id, userId, now)).toList());
+            taskEventOutbox.deleted(tasks);
+        }
+        taskStatisticsService.record(tasks.stream().map(TaskStatisticsService::snapshot).toList(), List.of());
+        Cache cache = taskDetailCache();
+        owned.forEach(cache::evict);
+        taskSearchIndex.delete(owned);
+        taskOverdueDetector.cancel(owned);
+
+        List<BatchItemResult> results = new ArrayList<>(taskIds.size());
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < taskIds.size(); i++) {
+            String taskId = taskIds.get(i);
+            if (taskId != null && owned.contains(taskId) && seen.add(taskId)) {
+                results.add(BatchItemResult.ok(i, taskId, null));
+            } else {
+                results.add(BatchItemResult.fail(i, taskId, "工单不存在或无权访问"));
+            }
+        }
+        BatchTaskResponse response = BatchTaskResponse.of(results);
+        response.setDeletedCount(deleted);
+        return response;
     }
 
     /**
      * 获取工单详情
+     * 先读缓存，未命中时查询数据库并写入缓存；写操作在事务提交后清除对应缓存
+     * 读取与写入缓存之间若有修改提交，其清除可能先于写入执行而留下旧值：Caffeine下同一key的加载与清除互斥，
+     * 其他缓存实现下由写入后的版本号复查发现并清除
      */
     public TaskResponse getTaskById(String taskId, String userId) {
         if (taskId == null) {
             throw new IllegalArgumentException("工单ID不能为空");
         }
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("工单不存在"));
+        Cache cache = taskDetailCache();
+        AtomicBoolean loaded = new AtomicBoolean();
+        TaskResponse response;
+        try {
+            response = cache.get(taskId, () -> {
+                loaded.set(true);
+                Task task = taskRepository.findById(taskId)
+                        .orElseThrow(() -> new RuntimeException("工单不存在"));
+                return taskMapper.toResponse(task);
+            });
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        if (loaded.get() && !Objects.equals(taskRepository.findVersionById(taskId), response.getVersion())) {
+            cache.evict(taskId);
+        }
 
         // 验证工单是否属于该用户
-        if (!task.getUserId().equals(userId)) {
+        if (!response.getUserId().equals(userId)) {
             throw new RuntimeException("无权访问该工单");
         }
 
-        return convertToResponse(task);
+        return response;
+    }
+
+    /**
+     * 获取用户工单列表（分页，列表投影）
+     */
+    public Page<TaskSummaryResponse> getTaskList(String userId, Pageable pageable) {
+        return taskRepository.findSummariesByUserId(userId, pageable)
+                .map(taskMapper::toSummaryResponse);
     }
 
     /**
-     * 获取用户工单列表（分页）
+     * 获取用户工单列表（游标分页）
+     * 按 (create_date, id) 倒序定位，不使用OFFSET，仅在 withTotal 为true时统计总数
      */
-    public Page<TaskResponse> getTaskList(String userId, Pageable pageable) {
-        return taskRepository.findByUserId(userId, pageable)
-                .map(this::convertToResponse);
+    public CursorPageResponse<TaskSummaryResponse> getTaskListByCursor(String userId, String cursor, int size, boolean withTotal) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<TaskSummary> tasks;
+        if (cursor == null || cursor.isEmpty()) {
+            tasks = taskRepository.findFirstPageByUserId(userId, limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            tasks = taskRepository.findPageByUserIdAfter(userId, position.getCreateDate(), position.getId(), limit);
+        }
+
+        boolean hasMore = tasks.size() > size;
+        if (hasMore) {
+            tasks = tasks.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            TaskSummary last = tasks.get(tasks.size() - 1);
+            nextCursor = new PageCursor(last.createDate(), last.id()).encode();
+        }
+        Long total = withTotal ? taskRepository.countByUserId(userId) : null;
+
+        List<TaskSummaryResponse> list = tasks.stream()
+                .map(taskMapper::toSummaryResponse)
+                .collect(Collectors.toList());
+        return new CursorPageResponse<>(list, nextCursor, hasMore, total);
     }
 
     /**
-     * 根据状态获取工单列表
+     * 按组合条件筛选工单（有界结果，不统计总数）
+     * 所有条件在一条查询中完成，由以 user_id 开头的复合索引支撑；多取一条用于判断是否还有下一页
      */
-    public List<TaskResponse> getTasksByStatus(String userId, String status) {
-        return taskRepository.findByUserIdAndStatus(userId, status)
-                .stream()
-                .map(this::convertToResponse)
+    public SliceResponse<TaskSummaryResponse> searchTasks(String userId, TaskFilterRequest filter) {
+        int page = filter.getPage() != null ? Math.max(filter.getPage(), 0) : 0;
+        int size = filter.getSize() != null ? Math.min(Math.max(filter.getSize(), 1), MAX_RESULT_SIZE) : 20;
+        Sort sort = resolveSort(filter.getSort(), filter.getDirection());
+
+        List<TaskSummary> rows = taskRepository.findSummaries(
+                TaskSpecifications.matching(userId, filter), sort, (long) page * size, size + 1);
+        boolean hasMore = rows.size() > size;
+
+        List<TaskSummaryResponse> list = rows.stream()
+                .limit(size)
+                .map(taskMapper::toSummaryResponse)
                 .collect(Collectors.toList());
+        return new SliceResponse<>(list, page, size, hasMore);
     }
 
     /**
-     * 根据优先级获取工单列表
+     * 按关键词全文检索工单（名称、描述、分类、标签），按相关度排序，不统计总数
+     * 索引只返回命中的工单ID，列表项由一次IN查询加载；已删除但索引尚未刷新的工单在此被过滤
      */
-    public List<TaskResponse> getTasksByPriority(String userId, String priority) {
-        return taskRepository.findByUserIdAndPriority(userId, priority)
-                .stream()
-                .map(this::convertToResponse)
+    public SliceResponse<TaskSummaryResponse> searchByKeyword(String userId, String keyword, int page, int size) {
+        page = Math.max(page, 0);
+        size = Math.min(Math.max(size, 1), MAX_RESULT_SIZE);
+        if ((long) page * size + size > MAX_SEARCH_WINDOW) {
+            throw new IllegalArgumentException("搜索结果最多翻到第 " + MAX_SEARCH_WINDOW + " 条，请细化关键词");
+        }
+
+        TaskSearchIndex.Hits hits;
+        try {
+            hits = taskSearchIndex.search(userId, keyword, page * size, size);
+        } catch (IOException e) {
+            throw new RuntimeException("搜索失败: " + e.getMessage(), e);
+        }
+        if (hits.ids().isEmpty()) {
+            return new SliceResponse<>(List.of(), page, size, hits.hasMore());
+        }
+
+        Map<String, TaskSummary> rows = taskRepository.findSummariesByUserIdAndIdIn(userId, hits.ids()).stream()
+                .collect(Collectors.toMap(TaskSummary::id, Function.identity()));
+        List<TaskSummaryResponse> list = hits.ids().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(taskMapper::toSummaryResponse)
                 .collect(Collectors.toList());
+        return new SliceResponse<>(list, page, size, hits.hasMore());
+    }
+
+    /**
+     * 根据状态分页获取工单列表（每页最多100条，返回 hasMore）
+     */
+    public SliceResponse<TaskSummaryResponse> getTasksByStatus(String userId, String status, int page, int size) {
+        TaskFilterRequest filter = new TaskFilterRequest();
+        filter.setStatus(status);
+        filter.setPage(page);
+        filter.setSize(size);
+        return searchTasks(userId, filter);
+    }
+
+    /**
+     * 根据优先级分页获取工单列表（每页最多100条，返回 hasMore）
+     */
+    public SliceResponse<TaskSummaryResponse> getTasksByPriority(String userId, String priority, int page, int size) {
+        TaskFilterRequest filter = new TaskFilterRequest();
+        filter.setPriority(priority);
+        filter.setPage(page);
+        filter.setSize(size);
+        return searchTasks(userId, filter);
+    }
+
+    /**
+     * 解析排序字段（仅允许白名单字段），并以ID作为次级排序保证结果稳定
+     */
+    private Sort resolveSort(String field, String direction) {
+        String property = field != null && SORTABLE_FIELDS.contains(field) ? field : "createDate";
+        Sort.Direction dir = "asc".equalsIgnoreCase(direction) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(dir, property).and(Sort.by(dir, "id"));
+    }
+
+    /**
+     * 根据请求创建新工单（分配ID，未持久化）
+     */
+    private Task newTask(String userId, TaskRequest request) {
+        Task task = new Task();
+        task.setId(IdGenerator.generateTaskId());
+        task.setUserId(userId);
+        applyRequest(task, request);
+        return task;
+    }
+
+    /**
+     * 将请求内容写入工单
+     */
+    private void applyRequest(Task task, TaskRequest request) {
+        LocalDateTime dueDateBefore = task.getDueDate();
+        String statusBefore = task.getStatus();
+        task.setTaskName(request.getTaskName());
+        task.setDescription(request.getDescription());
+        task.setProgressValue(request.getProgressValue());
+        task.setStatus(request.getStatus());
+        task.setPriority(request.getPriority());
+        task.setDueDate(request.getDueDate());
+        task.setAssignee(request.getAssignee());
+        task.setCategory(request.getCategory());
+
+        // 标签以JSON保存在工单行中用于展示，同时写入task_tags用于筛选
+        task.setTags(taskMapper.writeTags(taskMapper.normalizeTags(request.getTags())));
+
+        // 根据进度值自动设置状态
+        updateTaskStatus(task);
+        resetOverdue(task, dueDateBefore, statusBefore);
+    }
+
+    /**
+     * 将部分更新请求中出现的字段写入工单，进度值变化时同样自动设置状态
+     */
+    private void applyPatch(Task task, TaskPatchRequest request) {
+        LocalDateTime dueDateBefore = task.getDueDate();
+        String statusBefore = task.getStatus();
+        if (request.getTaskName() != null) {
+            task.setTaskName(request.getTaskName());
+        }
+        if (request.getDescription() != null) {
+            task.setDescription(request.getDescription());
+        }
+        if (request.getProgressValue() != null) {
+            task.setProgressValue(request.getProgressValue());
+        }
+        if (request.getStatus() != null) {
+            task.setStatus(request.getStatus());
+        }
+        if (request.getPriority() != null) {
+            task.setPriority(request.getPriority());
+        }
+        if (request.getDueDate() != null) {
+            task.setDueDate(request.getDueDate());
+        }
+        if (request.getAssignee() != null) {
+            task.setAssignee(request.getAssignee());
+        }
+        if (request.getCategory() != null) {
+            task.setCategory(request.getCategory());
+        }
+        if (request.getTags() != null) {
+            task.setTags(taskMapper.writeTags(taskMapper.normalizeTags(request.getTags())));
+        }
+        if (request.getProgressValue() != null || request.getStatus() != null) {
+            updateTaskStatus(task);
+        }
+        resetOverdue(task, dueDateBefore, statusBefore);
+    }
+
+    /**
+     * 截止日期变化，或已完成、已取消的工单重新打开时清除逾期标记，由逾期检测按新的截止日期重新判断
+     */
+    private static void resetOverdue(Task task, LocalDateTime dueDateBefore, String statusBefore) {
+        if (task.getOverdueTime() != null && (!Objects.equals(dueDateBefore, task.getDueDate())
+                || (!TaskOverdueDetector.isOpen(statusBefore) && TaskOverdueDetector.isOpen(task.getStatus())))) {
+            task.setOverdueTime(null);
+        }
+    }
+
+    /**
+     * 工单详情缓存
+     */
+    private Cache taskDetailCache() {
+        return CacheConfig.transactionAware(cacheManager, CacheConfig.TASK_DETAIL);
+    }
+
+    /**
+     * 为新工单写入标签行
+     */
+    private void saveTags(List<Task> tasks) {
+        List<TaskTag> rows = new ArrayList<>();
+        for (Task task : tasks) {
+            List<String> tags = taskMapper.readTags(task);
+            if (tags != null) {
+                tags.forEach(tag -> rows.add(new TaskTag(task.getId(), task.getUserId(), tag)));
+            }
+        }
+        if (!rows.isEmpty()) {
+            taskTagRepository.saveAll(rows);
+        }
+    }
+
+    /**
+     * 标签变化的工单：删除原有标签行后重新写入
+     */
+    private void replaceTags(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        taskTagRepository.deleteByTaskIdIn(tasks.stream().map(Task::getId).toList());
+        saveTags(tasks);
+    }
+
+    /**
+     * 校验单个工单请求，返回第一条错误信息，校验通过时返回null
+     */
+    private String validate(TaskRequest request) {
+        if (request == null) {
+            return "工单内容不能为空";
+        }
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
     }
 
     /**
@@ -179,37 +645,4 @@ public class TaskService {
             task.setStatus("in_progress");
         }
     }
-
-    /**
-     * 转换为响应DTO
-     */
-    private TaskResponse convertToResponse(Task task) {
-        List<String> tags = null;
-        if (task.getTags() != null && !task.getTags().isEmpty()) {
-            try {
-                tags = objectMapper.readValue(task.getTags(), new TypeReference<List<String>>() {});
-            } catch (Exception e) {
-                // 忽略解析错误
-            }
-        }
-
-        return TaskResponse.builder()
-                .id(task.getId())
-                .taskName(task.getTaskName())
-                .description(task.getDescription())
-                .progressValue(task.getProgressValue())
-                .status(task.getStatus())
-                .priority(task.getPriority())
-                .createDate(task.getCreateDate())
-                .updateDate(task.getUpdateDate())
-                .dueDate(task.getDueDate())
-                .assignee(task.getAssignee())
-                .category(task.getCategory())
-                .tags(tags)
-                .userId(task.getUserId())
-                .createTime(task.getCreateTime())
-                .updateTime(task.getUpdateTime())
-                .build();
-    }
 }
-
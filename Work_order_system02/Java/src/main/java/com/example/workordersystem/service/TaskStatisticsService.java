@@ -0,0 +1,183 @@
+package com.example.workordersystem.service;
+
+import com.example.workordersystem.dto.TaskStatisticsResponse;
+import com.example.workordersystem.entity.Task;
+import com.example.workordersystem.entity.TaskStat;
+import com.example.workordersystem.repository.TaskRepository;
+import com.example.workordersystem.repository.TaskStatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 工单统计服务类
+ * 统计数据保存在 task_stats 表中，由工单的创建、更新、删除在同一事务中增量维护，
+ * 查询时不需要对 tasks 表做 GROUP BY
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskStatisticsService {
+
+    private static final List<String> OPEN_STATUSES = List.of("pending", "in_progress");
+
+    private final TaskStatRepository taskStatRepository;
+    private final TaskRepository taskRepository;
+
+    /**
+     * 工单中参与统计的字段快照（用于更新前后对比）
+     */
+    public record Snapshot(String userId, String status, String priority, String category, int progress) {
+    }
+
+    /**
+     * 获取工单统计字段快照
+     */
+    public static Snapshot snapshot(Task task) {
+        return new Snapshot(
+                task.getUserId(),
+                task.getStatus(),
+                task.getPriority(),
+                task.getCategory(),
+                task.getProgressValue() != null ? task.getProgressValue() : 0
+        );
+    }
+
+    /**
+     * 获取用户工单统计
+     */
+    @Transactional
+    public TaskStatisticsResponse getStatistics(String userId) {
+        List<TaskStat> stats = taskStatRepository.findByUserId(userId);
+        if (stats.stream().noneMatch(stat -> TaskStat.DIMENSION_TOTAL.equals(stat.getDimension()))) {
+            // 统计表上线前已存在的数据，首次查询时重建一次
+            stats = rebuild(userId);
+        }
+
+        long total = 0;
+        long progressSum = 0;
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        for (TaskStat stat : stats) {
+            switch (stat.getDimension()) {
+                case TaskStat.DIMENSION_TOTAL -> {
+                    total = stat.getTaskCount();
+                    progressSum = stat.getProgressSum();
+                }
+                case TaskStat.DIMENSION_STATUS -> putIfPositive(byStatus, stat);
+                case TaskStat.DIMENSION_PRIORITY -> putIfPositive(byPriority, stat);
+                case TaskStat.DIMENSION_CATEGORY -> putIfPositive(byCategory, stat);
+                default -> {
+                }
+            }
+        }
+
+        long completed = byStatus.getOrDefault("completed", 0L);
+        long overdue = taskRepository.countByUserIdAndDueDateBeforeAndStatusIn(
+                userId, LocalDateTime.now(), OPEN_STATUSES);
+
+        return TaskStatisticsResponse.builder()
+                .total(total)
+                .completed(completed)
+                .inProgress(byStatus.getOrDefault("in_progress", 0L))
+                .notStarted(byStatus.getOrDefault("pending", 0L))
+                .overdue(overdue)
+                .completionRate(total > 0 ? (int) Math.round(completed * 100.0 / total) : 0)
+                .averageProgress(total > 0 ? (int) Math.round((double) progressSum / total) : 0)
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .byCategory(byCategory)
+                .build();
+    }
+
+    /**
+     * 记录新建工单
+     */
+    public void recordCreated(Task task) {
+        record(List.of(), List.of(snapshot(task)));
+    }
+
+    /**
+     * 记录删除工单
+     */
+    public void recordDeleted(Task task) {
+        record(List.of(snapshot(task)), List.of());
+    }
+
+    /**
+     * 记录工单更新，未变化的维度相互抵消，不产生写操作
+     */
+    public void recordUpdated(Snapshot before, Task task) {
+        record(List.of(before), List.of(snapshot(task)));
+    }
+
+    /**
+     * 批量记录统计变化：先在内存中合并各维度的增量，每个维度取值只执行一次更新
+     */
+    public void record(Collection<Snapshot> removed, Collection<Snapshot> added) {
+        Map<StatKey, long[]> deltas = new LinkedHashMap<>();
+        removed.forEach(snapshot -> accumulate(deltas, snapshot, -1));
+        added.forEach(snapshot -> accumulate(deltas, snapshot, 1));
+        deltas.forEach((key, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                taskStatRepository.increment(key.userId(), key.dimension(), key.dimValue(), delta[0], delta[1]);
+            }
+        });
+    }
+
+    private record StatKey(String userId, String dimension, String dimValue) {
+    }
+
+    private void accumulate(Map<StatKey, long[]> deltas, Snapshot snapshot, long sign) {
+        String userId = snapshot.userId();
+        add(deltas, new StatKey(userId, TaskStat.DIMENSION_TOTAL, ""), sign, sign * snapshot.progress());
+        add(deltas, new StatKey(userId, TaskStat.DIMENSION_STATUS, normalize(snapshot.status())), sign, 0);
+        add(deltas, new StatKey(userId, TaskStat.DIMENSION_PRIORITY, normalize(snapshot.priority())), sign, 0);
+        add(deltas, new StatKey(userId, TaskStat.DIMENSION_CATEGORY, normalize(snapshot.category())), sign, 0);
+    }
+
+    private void add(Map<StatKey, long[]> deltas, StatKey key, long count, long progress) {
+        long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+        delta[0] += count;
+        delta[1] += progress;
+    }
+
+    /**
+     * 从 tasks 表重建用户统计
+     */
+    private List<TaskStat> rebuild(String userId) {
+        taskStatRepository.deleteByUserId(userId);
+
+        List<TaskStat> stats = new ArrayList<>();
+        Object[] totals = taskRepository.sumProgressByUserId(userId).get(0);
+        stats.add(new TaskStat(userId, TaskStat.DIMENSION_TOTAL, "",
+                ((Number) totals[0]).longValue(), ((Number) totals[1]).longValue()));
+        addGroups(stats, userId, TaskStat.DIMENSION_STATUS, taskRepository.countGroupByStatus(userId));
+        addGroups(stats, userId, TaskStat.DIMENSION_PRIORITY, taskRepository.countGroupByPriority(userId));
+        addGroups(stats, userId, TaskStat.DIMENSION_CATEGORY, taskRepository.countGroupByCategory(userId));
+        return taskStatRepository.saveAll(stats);
+    }
+
+    private void addGroups(List<TaskStat> stats, String userId, String dimension, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            stats.add(new TaskStat(userId, dimension, normalize((String) row[0]), ((Number) row[1]).longValue(), 0L));
+        }
+    }
+
+    private void putIfPositive(Map<String, Long> target, TaskStat stat) {
+        if (stat.getTaskCount() > 0) {
+            target.put(stat.getDimValue(), stat.getTaskCount());
+        }
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.workordersystem.service;
 
+import com.example.workordersystem.config.CacheConfig;
 import com.example.workordersystem.dto.LoginRequest;
 import com.example.workordersystem.dto.RegisterRequest;
 import com.example.workordersystem.dto.UserInfoResponse;
@@ -7,30 +8,37 @@ import com.example.workordersystem.entity.User;
 import com.example.workordersystem.repository.UserRepository;
 import com.example.workordersystem.util.IdGenerator;
 import com.example.workordersystem.util.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.lang.NonNull;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
  * 用户服务类
+ * 公开方法的耗时记录在 user.service 指标中（按 method 区分）
  */
 @Service
 @RequiredArgsConstructor
+@Timed(value = "user.service", histogram = true)
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
+    private final CacheManager cacheManager;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final AuthTokenService authTokenService;
 
     /**
      * 用户注册
+     * 不开启事务：密码加密在哈希线程池中完成，等待期间不占用数据库连接，唯一性由数据库唯一索引兜底
      */
-    @Transactional
     public UserInfoResponse register(RegisterRequest request) {
         // 检查用户名是否已存在
         if (userRepository.existsByUsername(request.getUsername())) {
@@ -47,11 +55,15 @@ public class UserService {
         user.setId(IdGenerator.generateUserId());
         user.setUsername(request.getUsername());
         user.setPhone(request.getPhone());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         user.setRegisterTime(LocalDateTime.now());
         user.setStatus(1);
 
-        user = userRepository.save(user);
+        try {
+            user = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("用户名或手机号已注册");
+        }
 
         // 生成Token
         String token = jwtUtil.generateToken(user.getId(), user.getUsername());
@@ -63,13 +75,14 @@ public class UserService {
                 .phone(user.getPhone())
                 .registerTime(user.getRegisterTime())
                 .token(token)
+                .refreshToken(authTokenService.issueRefreshToken(user.getId()))
                 .build();
     }
 
     /**
      * 用户登录
+     * 最后登录时间由 {@link LastLoginRecorder} 异步批量写入；不开启事务，校验密码期间不占用数据库连接
      */
-    @Transactional
     public UserInfoResponse login(LoginRequest request) {
         // 查找用户（支持用户名或手机号登录）
         Optional<User> userOpt = userRepository.findByUsernameOrPhone(
@@ -84,7 +97,7 @@ public class UserService {
         User user = userOpt.get();
 
         // 验证密码
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("用户名或密码错误");
         }
 
@@ -93,9 +106,17 @@ public class UserService {
             throw new RuntimeException("用户已被禁用");
         }
 
-        // 更新最后登录时间
-        user.setLastLoginTime(LocalDateTime.now());
-        userRepository.save(user);
+        // 密码强度配置调整后，在后台按新强度重新加密
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            String userId = user.getId();
+            String oldPassword = user.getPassword();
+            passwordHashingService.rehashInBackground(request.getPassword(),
+                    newPassword -> userRepository.updatePasswordIfUnchanged(userId, oldPassword, newPassword));
+        }
+
+        // 记录最后登录时间（写缓冲，定时批量写入）
+        LocalDateTime loginTime = LocalDateTime.now();
+        lastLoginRecorder.record(user.getId(), loginTime);
 
         // 生成Token
         String token = jwtUtil.generateToken(user.getId(), user.getUsername());
@@ -106,15 +127,36 @@ public class UserService {
                 .username(user.getUsername())
                 .phone(user.getPhone())
                 .registerTime(user.getRegisterTime())
-                .lastLoginTime(user.getLastLoginTime())
+                .lastLoginTime(loginTime)
                 .token(token)
+                .refreshToken(authTokenService.issueRefreshToken(user.getId()))
                 .build();
     }
 
     /**
      * 根据ID获取用户信息
+     * 先读缓存，未命中时查询数据库并写入缓存；尚未写入数据库的最后登录时间会覆盖到结果中
      */
     public UserInfoResponse getUserInfo(@NonNull String userId) {
+        Cache cache = userInfoCache();
+        UserInfoResponse response = cache.get(userId, UserInfoResponse.class);
+        if (response == null) {
+            response = loadUserInfo(userId);
+            cache.put(userId, response);
+        }
+
+        LocalDateTime pendingLogin = lastLoginRecorder.getPending(userId);
+        if (pendingLogin != null
+                && (response.getLastLoginTime() == null || pendingLogin.isAfter(response.getLastLoginTime()))) {
+            return response.toBuilder().lastLoginTime(pendingLogin).build();
+        }
+        return response;
+    }
+
+    /**
+     * 从数据库加载用户信息
+     */
+    private UserInfoResponse loadUserInfo(String userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("用户不存在"));
 
@@ -127,6 +169,13 @@ public class UserService {
                 .build();
     }
 
+    /**
+     * 用户信息缓存
+     */
+    private Cache userInfoCache() {
+        return CacheConfig.transactionAware(cacheManager, CacheConfig.USER_INFO);
+    }
+
     /**
      * 根据Token获取用户信息
      */
@@ -0,0 +1,56 @@
+package com.example.workordersystem.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 增量同步游标（变更时间 + 工单ID），对客户端不透明
+ * 工单更新和删除记录按 (时间, ID) 排在同一序列中，游标指向客户端已收到的最后一条
+ */
+@Getter
+@AllArgsConstructor
+public class ChangeCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime time;
+    private final String id;
+
+    /**
+     * 编码为URL安全的游标字符串
+     */
+    public String encode() {
+        String raw = time + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     */
+    public static ChangeCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.indexOf(SEPARATOR);
+            // ID为空表示该时间点之前的变更已全部读取
+            if (index <= 0) {
+                throw new IllegalArgumentException("无效的同步游标");
+            }
+            return new ChangeCursor(LocalDateTime.parse(raw.substring(0, index)), raw.substring(index + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("无效的同步游标");
+        }
+    }
+
+    /**
+     * 排序比较：先比较时间，再比较ID
+     */
+    public boolean isBefore(LocalDateTime otherTime, String otherId) {
+        int byTime = time.compareTo(otherTime);
+        return byTime < 0 || (byTime == 0 && id.compareTo(otherId) < 0);
+    }
+}
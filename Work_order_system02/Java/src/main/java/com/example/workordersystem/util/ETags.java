@@ -0,0 +1,67 @@
+package com.example.workordersystem.util;
+
+import com.example.workordersystem.common.PreconditionFailedException;
+
+/**
+ * 工单ETag工具：ETag为带引号的版本号，如 "3"
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * 由版本号生成ETag
+     */
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * 解析 If-Match 请求头，返回期望的版本号；未携带或为 * 时返回null（不校验版本）
+     * 只支持单个强ETag，无法解析的值不可能与任何版本匹配，直接返回412
+     */
+    public static Long parseIfMatch(String header) {
+        if (header == null || header.isBlank() || "*".equals(header.trim())) {
+            return null;
+        }
+        Long version = parseVersion(header.trim());
+        if (version == null) {
+            throw new PreconditionFailedException("If-Match 与工单当前版本不一致");
+        }
+        return version;
+    }
+
+    /**
+     * If-None-Match 请求头是否与当前版本匹配（弱比较，支持多个ETag和 *）
+     */
+    public static boolean matchesNoneMatch(String header, Long version) {
+        if (header == null || header.isBlank() || version == null) {
+            return false;
+        }
+        for (String tag : header.split(",")) {
+            String value = tag.trim();
+            if ("*".equals(value)) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (version.equals(parseVersion(value))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Long parseVersion(String tag) {
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return null;
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
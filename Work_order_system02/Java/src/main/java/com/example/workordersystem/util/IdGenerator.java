@@ -1,24 +1,79 @@
 package com.example.workordersystem.util;
 
+import java.security.SecureRandom;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * ID生成工具类
+ * 生成按时间递增的128位ID（UUIDv7布局）：
+ * 48位毫秒时间戳 + 4位版本 + 12位序号 | 2位变体 + 10位节点ID + 52位随机数。
+ * 同一节点内严格单调递增（无锁CAS），插入时追加到聚簇索引末尾；文本形式为标准UUID字符串。
  */
 public class IdGenerator {
 
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long RANDOM_MASK = (1L << 52) - 1;
+
+    /**
+     * 节点ID（0-1023），通过系统属性 idgen.node-id 或环境变量 IDGEN_NODE_ID 配置，未配置时随机选取
+     */
+    private static final long NODE_ID = resolveNodeId();
+
+    /**
+     * 上一次分配的 (毫秒时间戳 << 12 | 序号)
+     */
+    private static final AtomicLong LAST_TIMESTAMP_AND_SEQUENCE = new AtomicLong();
+
     /**
      * 生成用户ID
      */
     public static String generateUserId() {
-        return "user_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8);
+        return nextId();
     }
 
     /**
      * 生成工单ID
      */
     public static String generateTaskId() {
-        return "task_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8);
+        return nextId();
     }
-}
 
+    /**
+     * 生成下一个ID（文本形式）
+     */
+    public static String nextId() {
+        return nextUuid().toString();
+    }
+
+    /**
+     * 生成下一个ID
+     * 同一毫秒内序号递增；序号用尽或系统时钟回拨时沿用逻辑时钟继续递增，保证单调
+     */
+    public static UUID nextUuid() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long next = LAST_TIMESTAMP_AND_SEQUENCE.updateAndGet(last -> Math.max(last + 1, now));
+
+        long millis = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        long mostSigBits = (millis << 16) | 0x7000L | sequence;
+        long leastSigBits = 0x8000000000000000L
+                | (NODE_ID << 52)
+                | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static long resolveNodeId() {
+        String configured = System.getProperty("idgen.node-id", System.getenv("IDGEN_NODE_ID"));
+        if (configured != null && !configured.isBlank()) {
+            long nodeId = Long.parseLong(configured.trim());
+            if (nodeId < 0 || nodeId >= (1L << NODE_BITS)) {
+                throw new IllegalStateException("idgen.node-id 必须在 0-1023 之间");
+            }
+            return nodeId;
+        }
+        return new SecureRandom().nextInt(1 << NODE_BITS);
+    }
+}
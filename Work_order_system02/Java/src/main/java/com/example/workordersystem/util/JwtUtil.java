@@ -1,8 +1,14 @@
 package com.example.workordersystem.util;
 
+import com.example.workordersystem.security.JwtPrincipal;
+import com.example.workordersystem.security.TokenDenylist;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -10,20 +16,57 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * JWT工具类
+ * 每个Token带唯一ID（jti），注销后由 {@link TokenDenylist} 拒绝，直到Token过期
  */
 @Component
 public class JwtUtil {
 
+    private final TokenDenylist tokenDenylist;
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    private SecretKey key;
+    private JwtParser parser;
+
+    /**
+     * 已验证Token缓存（Token -> 用户身份），过期时间与Token的exp一致
+     */
+    private final Map<String, JwtPrincipal> verifiedTokens = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder revokedRejections = new LongAdder();
+
+    public JwtUtil(TokenDenylist tokenDenylist) {
+        this.tokenDenylist = tokenDenylist;
+    }
+
+    /**
+     * 预先生成签名密钥和解析器，避免每次请求重复构建
+     */
+    @PostConstruct
+    public void init() {
+        key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+    }
+
     /**
      * 生成Token
      */
@@ -41,10 +84,9 @@ public class JwtUtil {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-
         return Jwts.builder()
                 .claims(claims)
+                .id(IdGenerator.nextId())
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
@@ -56,32 +98,122 @@ public class JwtUtil {
      * 从Token中获取Claims
      */
     public Claims getClaimsFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * 验证Token并返回用户身份，无效、已过期或已注销时返回null
+     * 验证结果会被缓存到Token过期为止，同一Token的后续请求不再重复验签；是否注销每次都检查（内存中，不访问数据库）
+     */
+    @Timed("jwt.verify")
+    public JwtPrincipal verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        JwtPrincipal cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (cached.getExpiresAt() > now) {
+                cacheHits.increment();
+                return checkRevoked(cached);
+            }
+            verifiedTokens.remove(token);
+            return null;
+        }
+
+        cacheMisses.increment();
+        Claims claims;
+        try {
+            claims = getClaimsFromToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        Date expiryDate = claims.getExpiration();
+        if (expiryDate == null || expiryDate.getTime() <= now) {
+            return null;
+        }
+
+        JwtPrincipal principal = new JwtPrincipal(
+                claims.get("userId", String.class),
+                claims.get("username", String.class),
+                expiryDate.getTime(),
+                claims.getId()
+        );
+        if (verifiedTokens.size() >= cacheMaxSize) {
+            evict(now);
+        }
+        verifiedTokens.put(token, principal);
+        return checkRevoked(principal);
+    }
+
+    private JwtPrincipal checkRevoked(JwtPrincipal principal) {
+        if (tokenDenylist.isRevoked(principal.getTokenId())) {
+            revokedRejections.increment();
+            return null;
+        }
+        return principal;
     }
 
     /**
      * 从Token中获取用户ID
      */
     public String getUserIdFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
-        return claims.get("userId", String.class);
+        JwtPrincipal principal = verify(token);
+        return principal != null ? principal.getUserId() : null;
     }
 
     /**
      * 验证Token是否有效
      */
     public Boolean validateToken(String token) {
+        return verify(token) != null;
+    }
+
+    /**
+     * 缓存已满时清理：先移除已过期的Token，仍不足时再淘汰一部分条目
+     */
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
         try {
-            Claims claims = getClaimsFromToken(token);
-            return !claims.getExpiration().before(new Date());
-        } catch (Exception e) {
-            return false;
+            verifiedTokens.values().removeIf(principal -> principal.getExpiresAt() <= now);
+            int toRemove = verifiedTokens.size() - cacheMaxSize * 9 / 10;
+            Iterator<String> iterator = verifiedTokens.keySet().iterator();
+            while (toRemove-- > 0 && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evicting.set(false);
         }
     }
-}
 
+    /**
+     * 缓存命中次数
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * 缓存未命中次数（需要完整验签的次数）
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * 因已注销被拒绝的次数
+     */
+    public long getRevokedRejections() {
+        return revokedRejections.sum();
+    }
+
+    /**
+     * 当前缓存的Token数量
+     */
+    public int getCacheSize() {
+        return verifiedTokens.size();
+    }
+}
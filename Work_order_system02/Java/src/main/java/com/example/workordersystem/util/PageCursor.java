@@ -0,0 +1,46 @@
+package com.example.workordersystem.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 工单列表游标（create_date + id），对客户端不透明
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createDate;
+    private final String id;
+
+    /**
+     * 编码为URL安全的游标字符串
+     */
+    public String encode() {
+        String raw = createDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.indexOf(SEPARATOR);
+            if (index <= 0 || index == raw.length() - 1) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, index)), raw.substring(index + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+    }
+}
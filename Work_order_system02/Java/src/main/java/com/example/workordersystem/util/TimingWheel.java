@@ -0,0 +1,124 @@
+package com.example.workordersystem.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 哈希时间轮
+ * 按到期时间所在的刻度把键放入环形槽位，推进时只检查经过的槽位：加入、取消、到期均为O(1)，与待到期的键总数无关。
+ * 到期时间超过一圈的键留在槽位中，等指针再次经过时才到期。同一个键只保留最后一次设置的到期时间。
+ * 非线程安全，由调用方加锁
+ */
+public class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Set<K>> slots;
+    /**
+     * 键 -> 到期刻度
+     */
+    private final Map<K, Long> deadlines = new HashMap<>();
+    /**
+     * 已推进到的刻度（该刻度及之前的键都已到期）
+     */
+    private long currentTick;
+
+    /**
+     * @param tickMillis 刻度长度（毫秒）
+     * @param wheelSize  槽位数，向上取整为2的幂
+     * @param startMillis 起始时间（毫秒时间戳）
+     */
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("刻度长度和槽位数必须大于0");
+        }
+        int size = Integer.highestOneBit(Math.max(wheelSize - 1, 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new LinkedHashSet<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * 设置键的到期时间（已存在时替换）；已经过去的时间在下一次推进时到期
+     */
+    public void schedule(K key, long deadlineMillis) {
+        long tick = Math.max(ceilTick(deadlineMillis), currentTick + 1);
+        Long previous = deadlines.put(key, tick);
+        if (previous != null) {
+            if (previous == tick) {
+                return;
+            }
+            slot(previous).remove(key);
+        }
+        slot(tick).add(key);
+    }
+
+    /**
+     * 取消键，返回键是否存在
+     */
+    public boolean cancel(K key) {
+        Long tick = deadlines.remove(key);
+        if (tick == null) {
+            return false;
+        }
+        slot(tick).remove(key);
+        return true;
+    }
+
+    /**
+     * 键是否在等待到期
+     */
+    public boolean contains(K key) {
+        return deadlines.containsKey(key);
+    }
+
+    /**
+     * 推进到指定时间，返回期间到期的键
+     */
+    public List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<K> expired = new ArrayList<>();
+        if (targetTick <= currentTick) {
+            return expired;
+        }
+        // 超过一圈时每个槽位只需检查一次
+        long from = Math.max(currentTick + 1, targetTick - mask);
+        for (long tick = from; tick <= targetTick; tick++) {
+            Iterator<K> iterator = slot(tick).iterator();
+            while (iterator.hasNext()) {
+                K key = iterator.next();
+                if (deadlines.get(key) <= targetTick) {
+                    iterator.remove();
+                    deadlines.remove(key);
+                    expired.add(key);
+                }
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    /**
+     * 待到期的键数量
+     */
+    public int size() {
+        return deadlines.size();
+    }
+
+    private long ceilTick(long millis) {
+        return Math.floorDiv(millis + tickMillis - 1, tickMillis);
+    }
+
+    private Set<K> slot(long tick) {
+        return slots.get((int) (tick & mask));
+    }
+}
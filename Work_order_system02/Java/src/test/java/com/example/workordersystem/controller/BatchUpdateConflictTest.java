@@ -0,0 +1,85 @@
+package com.example.workordersystem.controller;
+
+import com.example.workordersystem.dto.RegisterRequest;
+import com.example.workordersystem.dto.TaskRequest;
+import com.example.workordersystem.dto.TaskResponse;
+import com.example.workordersystem.dto.TaskUpdateItem;
+import com.example.workordersystem.dto.UserInfoResponse;
+import com.example.workordersystem.service.TaskService;
+import com.example.workordersystem.service.UserService;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 批量更新读取工单后有并发修改提交时返回412，整批不生效
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BatchUpdateConflictTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private Validator validator;
+
+    @Test
+    void concurrentModificationReturnsPreconditionFailed() throws Exception {
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername("batch_user");
+        register.setPhone("13800000005");
+        register.setPassword("secret123");
+        UserInfoResponse user = userService.register(register);
+
+        TaskRequest request = new TaskRequest();
+        request.setTaskName("盘点设备");
+        TaskResponse first = taskService.createTask(user.getId(), request);
+        TaskResponse second = taskService.createTask(user.getId(), request);
+
+        // 模拟并发修改：批量更新读出工单后（校验第二个工单时），另一事务提交了该工单的新版本
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) instanceof TaskUpdateItem item && second.getId().equals(item.getTaskId())) {
+                jdbcTemplate.update("UPDATE tasks SET version = version + 1 WHERE id = ?", second.getId());
+            }
+            return invocation.callRealMethod();
+        }).when(validator).validate(any(), any(Class[].class));
+
+        String body = """
+                {"tasks": [{"taskId": "%s", "taskName": "盘点设备A"}, {"taskId": "%s", "taskName": "盘点设备B"}]}
+                """.formatted(first.getId(), second.getId());
+        mockMvc.perform(post("/task/batch-update")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + user.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value(412));
+
+        assertThat(taskService.getTaskById(first.getId(), user.getId()).getTaskName()).isEqualTo("盘点设备");
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.workordersystem.controller;
+
+import com.example.workordersystem.dto.RegisterRequest;
+import com.example.workordersystem.dto.TaskRequest;
+import com.example.workordersystem.dto.UserInfoResponse;
+import com.example.workordersystem.repository.UserRepository;
+import com.example.workordersystem.service.TaskService;
+import com.example.workordersystem.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * sql-budget.mode=strict 时超出 @SqlBudget 的请求失败（HTTP 500），不被控制器的异常处理转换为普通错误响应
+ */
+@SpringBootTest(properties = "sql-budget.mode=strict")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlBudgetStrictModeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @SpyBean
+    private UserService userService;
+
+    private String token;
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        if (token == null) {
+            RegisterRequest request = new RegisterRequest();
+            request.setUsername("budget_" + System.nanoTime() % 1_000_000);
+            request.setPhone("139" + String.format("%08d", System.nanoTime() % 100_000_000));
+            request.setPassword("secret123");
+            UserInfoResponse response = userService.register(request);
+            token = response.getToken();
+            userId = response.getId();
+        }
+    }
+
+    @Test
+    void requestWithinBudgetSucceeds() throws Exception {
+        mockMvc.perform(get("/user/info").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200));
+    }
+
+    @Test
+    void taskDetailCacheMissWithinBudget() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTaskName("核对库存");
+        String taskId = taskService.createTask(userId, request).getId();
+
+        mockMvc.perform(get("/task/" + taskId).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(taskId));
+    }
+
+    @Test
+    void requestOverBudgetFails() throws Exception {
+        // 模拟接口新增了查询：GET /user/info 的预算为2条
+        doAnswer(invocation -> {
+            userRepository.count();
+            userRepository.count();
+            userRepository.count();
+            return (UserInfoResponse) invocation.callRealMethod();
+        }).when(userService).getUserInfo(anyString());
+
+        mockMvc.perform(get("/user/info").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.code").value(500));
+    }
+}
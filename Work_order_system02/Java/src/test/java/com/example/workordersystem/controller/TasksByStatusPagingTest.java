@@ -0,0 +1,61 @@
+package com.example.workordersystem.controller;
+
+import com.example.workordersystem.dto.RegisterRequest;
+import com.example.workordersystem.dto.TaskRequest;
+import com.example.workordersystem.dto.UserInfoResponse;
+import com.example.workordersystem.service.TaskService;
+import com.example.workordersystem.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 按状态获取工单列表分页返回，超出一页时 hasMore 为 true，不会静默截断
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TasksByStatusPagingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void pagesThroughTasksWithHasMore() throws Exception {
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername("paging_user");
+        register.setPhone("13800000008");
+        register.setPassword("secret123");
+        UserInfoResponse user = userService.register(register);
+
+        for (int i = 0; i < 3; i++) {
+            TaskRequest request = new TaskRequest();
+            request.setTaskName("巡检" + i);
+            request.setStatus("pending");
+            taskService.createTask(user.getId(), request);
+        }
+
+        String auth = "Bearer " + user.getToken();
+        mockMvc.perform(get("/task/status/pending?page=0&size=2").header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.list.length()").value(2))
+                .andExpect(jsonPath("$.data.hasMore").value(true));
+        mockMvc.perform(get("/task/status/pending?page=1&size=2").header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(jsonPath("$.data.list.length()").value(1))
+                .andExpect(jsonPath("$.data.hasMore").value(false));
+    }
+}
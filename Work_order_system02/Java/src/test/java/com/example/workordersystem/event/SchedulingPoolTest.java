@@ -0,0 +1,72 @@
+package com.example.workordersystem.event;
+
+import com.example.workordersystem.dto.RegisterRequest;
+import com.example.workordersystem.dto.TaskRequest;
+import com.example.workordersystem.dto.TaskResponse;
+import com.example.workordersystem.service.TaskService;
+import com.example.workordersystem.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * 事件投递阻塞（如等待其他节点的行锁）时，其他定时任务仍按时执行
+ */
+@SpringBootTest(properties = {"task.overdue.tick=100", "spring.threads.virtual.enabled=false"})
+@ActiveProfiles("test")
+class SchedulingPoolTest {
+
+    private final CountDownLatch releaseRelay = new CountDownLatch(1);
+    private final CountDownLatch relayBlocked = new CountDownLatch(1);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @SpyBean
+    private TaskOutboxRelay taskOutboxRelay;
+
+    @AfterEach
+    void tearDown() {
+        releaseRelay.countDown();
+    }
+
+    @Test
+    void blockedRelayDoesNotDelayOverdueMarking() throws InterruptedException {
+        doAnswer(invocation -> {
+            relayBlocked.countDown();
+            releaseRelay.await(30, TimeUnit.SECONDS);
+            return null;
+        }).when(taskOutboxRelay).relay();
+        assertThat(relayBlocked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername("scheduling_user");
+        register.setPhone("13800000010");
+        register.setPassword("secret123");
+        String userId = userService.register(register).getId();
+
+        TaskRequest request = new TaskRequest();
+        request.setTaskName("更换滤芯");
+        request.setDueDate(LocalDateTime.now().plusNanos(300_000_000));
+        TaskResponse current = taskService.createTask(userId, request);
+        for (int i = 0; i < 50 && current.getOverdueTime() == null; i++) {
+            Thread.sleep(100);
+            current = taskService.getTaskById(current.getId(), userId);
+        }
+
+        assertThat(current.getOverdueTime()).isNotNull();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.workordersystem.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 测试用的语句统计：在计数之外保留每条SQL的文本（小写），用于断言具体执行了哪些语句
+ */
+public class RecordedStatements extends RequestStatements {
+
+    private final List<String> statements = new ArrayList<>();
+
+    public RecordedStatements() {
+        super(0, 0, false);
+    }
+
+    @Override
+    void record(String sql) {
+        statements.add(sql.strip().toLowerCase(Locale.ROOT));
+        super.record(sql);
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    /**
+     * 以指定前缀开头的语句（如 "insert into tasks"）
+     */
+    public List<String> startingWith(String prefix) {
+        return statements.stream().filter(sql -> sql.startsWith(prefix)).toList();
+    }
+}
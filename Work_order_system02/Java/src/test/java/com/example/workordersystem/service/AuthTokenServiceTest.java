@@ -0,0 +1,55 @@
+package com.example.workordersystem.service;
+
+import com.example.workordersystem.dto.RegisterRequest;
+import com.example.workordersystem.security.JwtPrincipal;
+import com.example.workordersystem.security.TokenDenylist;
+import com.example.workordersystem.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 退出登录在事务提交后才把访问Token加入拒绝列表，回滚时Token仍然有效
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthTokenServiceTest {
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void logoutRevokesTokenOnlyAfterCommit() {
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername("logout_user");
+        register.setPhone("13800000006");
+        register.setPassword("secret123");
+        JwtPrincipal principal = jwtUtil.verify(userService.register(register).getToken());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            authTokenService.logout(principal, null);
+            assertThat(tokenDenylist.isRevoked(principal.getTokenId())).isFalse();
+            status.setRollbackOnly();
+        });
+        assertThat(tokenDenylist.isRevoked(principal.getTokenId())).isFalse();
+
+        authTokenService.logout(principal, null);
+        assertThat(tokenDenylist.isRevoked(principal.getTokenId())).isTrue();
+    }
+}
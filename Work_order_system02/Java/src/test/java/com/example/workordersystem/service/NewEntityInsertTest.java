@@ -0,0 +1,87 @@
+package com.example.workordersystem.service;
+
+import com.example.workordersystem.dto.RegisterRequest;
+import com.example.workordersystem.dto.TaskRequest;
+import com.example.workordersystem.dto.TaskResponse;
+import com.example.workordersystem.dto.UserInfoResponse;
+import com.example.workordersystem.metrics.RecordedStatements;
+import com.example.workordersystem.metrics.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 新建工单和注册用户时，实体以 Persistable 标记为新对象，save 直接INSERT，不先按主键SELECT
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NewEntityInsertTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @AfterEach
+    void tearDown() {
+        statementCounter.end();
+    }
+
+    @Test
+    void createTaskInsertsWithoutSelectById() {
+        String userId = userService.register(registerRequest("insert_task", "13800000002")).getId();
+        TaskRequest request = new TaskRequest();
+        request.setTaskName("整理周报");
+        request.setTags(List.of("文档"));
+
+        RecordedStatements statements = record(() -> taskService.createTask(userId, request));
+
+        assertThat(statements.startingWith("insert into tasks ")).hasSize(1);
+        assertThat(selectsById(statements, "tasks")).isEmpty();
+    }
+
+    @Test
+    void registerInsertsWithoutSelectById() {
+        RecordedStatements statements = record(() -> userService.register(registerRequest("insert_user", "13800000001")));
+
+        assertThat(statements.startingWith("insert into users ")).hasSize(1);
+        assertThat(selectsById(statements, "users")).isEmpty();
+    }
+
+    private static RegisterRequest registerRequest(String username, String phone) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setPhone(phone);
+        request.setPassword("secret123");
+        return request;
+    }
+
+    private RecordedStatements record(Supplier<?> action) {
+        RecordedStatements statements = new RecordedStatements();
+        statementCounter.begin(statements);
+        Object result = action.get();
+        statementCounter.end();
+        assertThat(result).isInstanceOfAny(TaskResponse.class, UserInfoResponse.class);
+        return statements;
+    }
+
+    /**
+     * 按主键查询指定表的SELECT（Hibernate生成的形式为 "from tasks t1_0 where t1_0.id=?"）
+     */
+    private static List<String> selectsById(RecordedStatements statements, String table) {
+        return statements.startingWith("select").stream()
+                .filter(sql -> sql.matches("(?s).* from " + table + " (\\w+) where \\1\\.id=\\?"))
+                .toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.workordersystem.service;
+
+import com.example.workordersystem.dto.RegisterRequest;
+import com.example.workordersystem.dto.TaskRequest;
+import com.example.workordersystem.dto.TaskResponse;
+import com.example.workordersystem.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * 工单详情缓存：读取数据库后、写入缓存前提交的修改不会在缓存中留下旧值
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskDetailCacheTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private TaskMapper taskMapper;
+
+    @Test
+    void updateCommittedDuringLoadIsNotCachedStale() {
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername("cache_user");
+        register.setPhone("13800000004");
+        register.setPassword("secret123");
+        String userId = userService.register(register).getId();
+
+        TaskRequest request = new TaskRequest();
+        request.setTaskName("整理会议纪要");
+        TaskResponse created = taskService.createTask(userId, request);
+
+        // 模拟并发修改：读出工单后、写入缓存前另一事务提交了新版本（其缓存清除已先执行）
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            Object response = invocation.callRealMethod();
+            if (raced.compareAndSet(false, true)) {
+                jdbcTemplate.update("UPDATE tasks SET version = version + 1 WHERE id = ?", created.getId());
+            }
+            return response;
+        }).when(taskMapper).toResponse(any(Task.class));
+
+        assertThat(taskService.getTaskById(created.getId(), userId).getVersion()).isEqualTo(created.getVersion());
+        assertThat(taskService.getTaskById(created.getId(), userId).getVersion()).isEqualTo(created.getVersion() + 1);
+    }
+}
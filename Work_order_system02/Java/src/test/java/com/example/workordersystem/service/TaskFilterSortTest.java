@@ -0,0 +1,56 @@
+package com.example.workordersystem.service;
+
+import com.example.workordersystem.dto.RegisterRequest;
+import com.example.workordersystem.dto.TaskFilterRequest;
+import com.example.workordersystem.dto.TaskRequest;
+import com.example.workordersystem.dto.TaskSummaryResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 组合筛选按优先级排序时按级别排序，而不是按字符串排序
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskFilterSortTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void sortsPriorityByLevel() {
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername("sort_user");
+        register.setPhone("13800000009");
+        register.setPassword("secret123");
+        String userId = userService.register(register).getId();
+
+        for (String priority : List.of("medium", "urgent", "low", "high")) {
+            TaskRequest request = new TaskRequest();
+            request.setTaskName("优先级" + priority);
+            request.setPriority(priority);
+            taskService.createTask(userId, request);
+        }
+
+        TaskFilterRequest filter = new TaskFilterRequest();
+        filter.setSort("priority");
+        filter.setDirection("desc");
+        assertThat(taskService.searchTasks(userId, filter).getList())
+                .extracting(TaskSummaryResponse::getPriority)
+                .containsExactly("urgent", "high", "medium", "low");
+
+        filter.setDirection("asc");
+        assertThat(taskService.searchTasks(userId, filter).getList())
+                .extracting(TaskSummaryResponse::getPriority)
+                .containsExactly("low", "medium", "high", "urgent");
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.workordersystem.service;
+
+import com.example.workordersystem.dto.RegisterRequest;
+import com.example.workordersystem.dto.TaskRequest;
+import com.example.workordersystem.dto.TaskResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 逾期标记递增版本号并更新修改时间，工单详情（含缓存）和ETag随之变化
+ */
+@SpringBootTest(properties = "task.overdue.tick=100")
+@ActiveProfiles("test")
+class TaskOverdueDetectorTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void markingOverdueBumpsVersion() throws InterruptedException {
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername("overdue_user");
+        register.setPhone("13800000003");
+        register.setPassword("secret123");
+        String userId = userService.register(register).getId();
+
+        TaskRequest request = new TaskRequest();
+        request.setTaskName("提交季度报表");
+        request.setDueDate(LocalDateTime.now().plusNanos(300_000_000));
+        TaskResponse created = taskService.createTask(userId, request);
+        // 读取一次，使未逾期的详情进入缓存
+        assertThat(taskService.getTaskById(created.getId(), userId).getOverdueTime()).isNull();
+
+        TaskResponse current = created;
+        for (int i = 0; i < 50 && current.getOverdueTime() == null; i++) {
+            Thread.sleep(100);
+            current = taskService.getTaskById(created.getId(), userId);
+        }
+
+        assertThat(current.getOverdueTime()).isNotNull();
+        assertThat(current.getVersion()).isEqualTo(created.getVersion() + 1);
+        assertThat(current.getUpdateTime()).isEqualTo(current.getOverdueTime());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.workordersystem.service;
+
+import com.example.workordersystem.dto.LoginRequest;
+import com.example.workordersystem.dto.RegisterRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 已禁用的用户登录时直接拒绝，不在后台重新加密其密码
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private PasswordHashingService passwordHashingService;
+
+    @Test
+    void disabledUserIsRejectedBeforeRehash() {
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername("disabled_user");
+        register.setPhone("13800000007");
+        register.setPassword("secret123");
+        String userId = userService.register(register).getId();
+
+        // 低于当前配置强度的旧哈希，正常登录时会触发后台重新加密
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret123");
+        jdbcTemplate.update("UPDATE users SET password = ?, status = 0 WHERE id = ?", weakHash, userId);
+
+        LoginRequest login = new LoginRequest();
+        login.setAccount("disabled_user");
+        login.setPassword("secret123");
+        assertThatThrownBy(() -> userService.login(login)).hasMessage("用户已被禁用");
+        verify(passwordHashingService, never()).rehashInBackground(anyString(), any());
+    }
+}